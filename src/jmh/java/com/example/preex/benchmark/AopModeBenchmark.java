@@ -0,0 +1,137 @@
+package com.example.preex.benchmark;
+
+import com.example.preex.aop.AspectConfiguration;
+import com.example.preex.controller.StudentController;
+import com.example.preex.controller.aspect.ControllerExceptionAspect;
+import com.example.preex.model.Student;
+import com.example.preex.repository.StudentRepository;
+import com.example.preex.service.StudentService;
+import com.example.preex.service.aspect.ServiceLogWriter;
+import com.example.preex.service.aspect.ServiceLoggingAspect;
+import com.example.preex.service.loader.StudentBatchLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.Aspects;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк стоимости вызова {@link StudentService} и {@link StudentController} с обработчиками
+ * {@link ServiceLoggingAspect} и {@link ControllerExceptionAspect} в разных режимах AOP.
+ * <p>
+ * Режимы {@code none}, {@code jdk} и {@code cglib} запускаются на обычной сборке:
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="AopMode -p mode=none,jdk,cglib"}.
+ * Режим {@code ajc} требует классов, вплетенных при компиляции:
+ * {@code mvn -Pjmh,ajc test-compile exec:exec -Djmh.args="AopMode -p mode=ajc"}.
+ * У контроллера нет интерфейса, поэтому в режиме {@code jdk} для него, как и в Spring, создается CGLIB прокси.
+ * Контроллер вызывает сервис того же режима, поэтому во всех режимах с обработчиками вызов контроллера проходит
+ * оба обработчика, как при вплетении.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AopModeBenchmark {
+
+    /**
+     * Режим AOP: без обработчиков, JDK прокси, CGLIB прокси, вплетение при компиляции.
+     */
+    @Param({"none", "jdk", "cglib"})
+    public String mode;
+
+    /**
+     * Пакетный загрузчик студентов.
+     */
+    private StudentBatchLoader studentBatchLoader;
+
+    /**
+     * Асинхронный журнал вызовов сервисов.
+     */
+    private ServiceLogWriter serviceLogWriter;
+
+    /**
+     * Сервис студентов в выбранном режиме.
+     */
+    private StudentService studentService;
+
+    /**
+     * Контроллер студентов в выбранном режиме.
+     */
+    private StudentController studentController;
+
+    /**
+     * Изменения студента.
+     */
+    private Student patch;
+
+    @Setup
+    public void setUp() {
+        boolean woven = AspectConfiguration.isCompileTimeWoven(ServiceLoggingAspect.class);
+        if (woven != "ajc".equals(mode)) {
+            throw new IllegalStateException("Mode " + mode + (woven
+                    ? " requires a build without the ajc profile"
+                    : " requires a build with the ajc profile"));
+        }
+
+        StudentRepository studentRepository = InMemoryStudentRepository.create(1);
+        studentBatchLoader = BenchmarkFixtures.studentBatchLoader(studentRepository);
+        StudentService target = BenchmarkFixtures.studentService(studentRepository, studentBatchLoader);
+        serviceLogWriter = new ServiceLogWriter(8192, 0.0, 256, Duration.ofMillis(10), new SimpleMeterRegistry());
+
+        ServiceLoggingAspect serviceLoggingAspect = woven
+                ? Aspects.aspectOf(ServiceLoggingAspect.class) : new ServiceLoggingAspect();
+        serviceLoggingAspect.setServiceLogWriter(serviceLogWriter);
+        ControllerExceptionAspect controllerExceptionAspect = woven
+                ? Aspects.aspectOf(ControllerExceptionAspect.class) : new ControllerExceptionAspect();
+        controllerExceptionAspect.setStudentService(target);
+
+        if ("jdk".equals(mode) || "cglib".equals(mode)) {
+            AspectJProxyFactory serviceProxyFactory = new AspectJProxyFactory(target);
+            serviceProxyFactory.setProxyTargetClass("cglib".equals(mode));
+            serviceProxyFactory.addAspect(serviceLoggingAspect);
+            studentService = serviceProxyFactory.getProxy();
+
+            AspectJProxyFactory controllerProxyFactory =
+                    new AspectJProxyFactory(BenchmarkFixtures.studentController(studentService));
+            controllerProxyFactory.setProxyTargetClass(true);
+            controllerProxyFactory.addAspect(controllerExceptionAspect);
+            studentController = controllerProxyFactory.getProxy();
+        } else {
+            studentService = target;
+            studentController = BenchmarkFixtures.studentController(target);
+        }
+
+        patch = new Student();
+        patch.setId(1);
+        patch.setFirstname("NewTestFirstName");
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        serviceLogWriter.destroy();
+        studentBatchLoader.destroy();
+    }
+
+    @Benchmark
+    public Student service() {
+        return studentService.getStudentById(1);
+    }
+
+    @Benchmark
+    public ResponseEntity<String> controller() {
+        return studentController.updateStudent(patch);
+    }
+}
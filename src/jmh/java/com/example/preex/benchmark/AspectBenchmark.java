@@ -0,0 +1,131 @@
+package com.example.preex.benchmark;
+
+import com.example.preex.controller.StudentController;
+import com.example.preex.controller.aspect.ControllerExceptionAspect;
+import com.example.preex.model.Student;
+import com.example.preex.repository.StudentRepository;
+import com.example.preex.service.StudentService;
+import com.example.preex.service.aspect.ServiceLogWriter;
+import com.example.preex.service.aspect.ServiceLoggingAspect;
+import com.example.preex.service.loader.StudentBatchLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк накладных расходов {@link ServiceLoggingAspect} и {@link ControllerExceptionAspect}
+ * в сравнении с вызовом без прокси.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AspectBenchmark {
+
+    /**
+     * Доля журналируемых вызовов сервиса.
+     */
+    @Param({"0.0", "0.01", "1.0"})
+    public double sampleRate;
+
+    /**
+     * Пакетный загрузчик студентов.
+     */
+    private StudentBatchLoader studentBatchLoader;
+
+    /**
+     * Асинхронный журнал вызовов сервисов.
+     */
+    private ServiceLogWriter serviceLogWriter;
+
+    /**
+     * Сервис без прокси.
+     */
+    private StudentService plainService;
+
+    /**
+     * Сервис с обработчиком логгирования.
+     */
+    private StudentService loggedService;
+
+    /**
+     * Контроллер без прокси.
+     */
+    private StudentController plainController;
+
+    /**
+     * Контроллер с обработчиком ошибок.
+     */
+    private StudentController advisedController;
+
+    /**
+     * Изменения студента.
+     */
+    private Student patch;
+
+    @Setup
+    public void setUp() {
+        StudentRepository studentRepository = InMemoryStudentRepository.create(1);
+        studentBatchLoader = BenchmarkFixtures.studentBatchLoader(studentRepository);
+        plainService = BenchmarkFixtures.studentService(studentRepository, studentBatchLoader);
+        serviceLogWriter = new ServiceLogWriter(8192, sampleRate, 256, Duration.ofMillis(10), new SimpleMeterRegistry());
+
+        AspectJProxyFactory serviceProxyFactory = new AspectJProxyFactory(plainService);
+        ServiceLoggingAspect serviceLoggingAspect = new ServiceLoggingAspect();
+        serviceLoggingAspect.setServiceLogWriter(serviceLogWriter);
+        serviceProxyFactory.addAspect(serviceLoggingAspect);
+        loggedService = serviceProxyFactory.getProxy();
+
+        plainController = BenchmarkFixtures.studentController(plainService);
+        AspectJProxyFactory controllerProxyFactory = new AspectJProxyFactory(plainController);
+        controllerProxyFactory.setProxyTargetClass(true);
+        ControllerExceptionAspect controllerExceptionAspect = new ControllerExceptionAspect();
+        controllerExceptionAspect.setStudentService(plainService);
+        controllerProxyFactory.addAspect(controllerExceptionAspect);
+        advisedController = controllerProxyFactory.getProxy();
+
+        patch = new Student();
+        patch.setId(1);
+        patch.setFirstname("NewTestFirstName");
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        serviceLogWriter.destroy();
+        studentBatchLoader.destroy();
+    }
+
+    @Benchmark
+    public Student serviceWithoutAspect() {
+        return plainService.getStudentById(1);
+    }
+
+    @Benchmark
+    public Student serviceWithLoggingAspect() {
+        return loggedService.getStudentById(1);
+    }
+
+    @Benchmark
+    public ResponseEntity<String> controllerWithoutAspect() {
+        return plainController.updateStudent(patch);
+    }
+
+    @Benchmark
+    public ResponseEntity<String> controllerWithExceptionAspect() {
+        return advisedController.updateStudent(patch);
+    }
+}
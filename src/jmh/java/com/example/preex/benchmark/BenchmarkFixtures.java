@@ -0,0 +1,90 @@
+package com.example.preex.benchmark;
+
+import com.example.preex.controller.StudentController;
+import com.example.preex.controller.snapshot.StudentListingSnapshot;
+import com.example.preex.controller.version.StudentETags;
+import com.example.preex.repository.StudentRepository;
+import com.example.preex.service.StudentService;
+import com.example.preex.service.Impl.StudentServiceImpl;
+import com.example.preex.service.cache.StudentCache;
+import com.example.preex.service.loader.StudentBatchLoader;
+import com.example.preex.service.search.StudentSearchIndex;
+import com.example.preex.service.writebehind.StudentWriteBehindBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+
+/**
+ * Сборка объектов приложения для бенчмарков без контекста Spring и БД.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+public final class BenchmarkFixtures {
+
+    /**
+     * Конструктор.
+     */
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Создание сервиса студентов поверх репозитория в памяти.
+     * Поисковый индекс заполняется студентами репозитория.
+     *
+     * @param studentRepository  репозиторий студентов
+     * @param studentBatchLoader пакетный загрузчик студентов
+     * @return сервис студентов
+     */
+    public static StudentServiceImpl studentService(StudentRepository studentRepository,
+                                                    StudentBatchLoader studentBatchLoader) {
+        StudentSearchIndex studentSearchIndex = new StudentSearchIndex(studentRepository, noOpEntityManager(), null);
+        studentRepository.findAll().forEach(studentSearchIndex::put);
+        return new StudentServiceImpl(studentRepository, noOpEntityManager(),
+                new StudentCache(100_000, Duration.ofMinutes(5), Duration.ZERO, false, Duration.ZERO,
+                        new SimpleMeterRegistry()),
+                studentBatchLoader, studentSearchIndex, event -> {
+                }, new StudentWriteBehindBuffer(false, Duration.ZERO, 1, 0, new SimpleMeterRegistry()), null);
+    }
+
+    /**
+     * Создание пакетного загрузчика без окна ожидания.
+     *
+     * @param studentRepository репозиторий студентов
+     * @return пакетный загрузчик
+     */
+    public static StudentBatchLoader studentBatchLoader(StudentRepository studentRepository) {
+        return new StudentBatchLoader(studentRepository, Duration.ZERO, 100, 2);
+    }
+
+    /**
+     * Создание контроллера студентов с выключенным снимком списка, чтобы измерять вызовы сервиса.
+     *
+     * @param studentService сервис студентов
+     * @return контроллер студентов
+     */
+    public static StudentController studentController(StudentService studentService) {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        StudentListingSnapshot studentListingSnapshot = new StudentListingSnapshot(studentService, objectMapper,
+                false, Duration.ZERO, Duration.ZERO, DataSize.ofBytes(0), false, new SimpleMeterRegistry());
+        return new StudentController(objectMapper, studentService, studentListingSnapshot,
+                new StudentETags(studentService), new MappingJackson2CborHttpMessageConverter(), new MappingJackson2SmileHttpMessageConverter());
+    }
+
+    /**
+     * Менеджер сущностей, игнорирующий все вызовы.
+     *
+     * @return менеджер сущностей
+     */
+    private static EntityManager noOpEntityManager() {
+        return (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+                new Class<?>[]{EntityManager.class}, (proxy, method, args) -> null);
+    }
+}
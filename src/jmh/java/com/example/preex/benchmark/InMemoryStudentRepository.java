@@ -0,0 +1,186 @@
+package com.example.preex.benchmark;
+
+import com.example.preex.model.Student;
+import com.example.preex.model.StudentBatchItemResult;
+import com.example.preex.model.StudentField;
+import com.example.preex.model.StudentView;
+import com.example.preex.repository.StudentRepository;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Репозиторий студентов в памяти для бенчмарков.
+ * Реализует только методы, которые вызывает {@link com.example.preex.service.Impl.StudentServiceImpl}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+public final class InMemoryStudentRepository implements InvocationHandler {
+
+    /**
+     * Студенты по ИД.
+     */
+    private final ConcurrentSkipListMap<Integer, Student> students = new ConcurrentSkipListMap<>();
+
+    /**
+     * Последовательность ИД.
+     */
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * Конструктор.
+     */
+    private InMemoryStudentRepository() {
+    }
+
+    /**
+     * Создание репозитория, заполненного студентами.
+     *
+     * @param count количество студентов
+     * @return репозиторий
+     */
+    public static StudentRepository create(int count) {
+        InMemoryStudentRepository handler = new InMemoryStudentRepository();
+        for (int i = 0; i < count; i++) {
+            handler.save(newStudent("student" + i));
+        }
+        return (StudentRepository) Proxy.newProxyInstance(StudentRepository.class.getClassLoader(),
+                new Class<?>[]{StudentRepository.class}, handler);
+    }
+
+    /**
+     * Создание модели студента.
+     *
+     * @param username логин студента
+     * @return студент
+     */
+    public static Student newStudent(String username) {
+        return new Student(username + "_TestFirstName", username + "_TestLastName", username + "_test@mail.ru",
+                username, "test");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "save":
+                return save((Student) args[0]);
+            case "findById":
+                return Optional.ofNullable(students.get((Integer) args[0])).map(Student::copy);
+            case "existsById":
+                return students.containsKey((Integer) args[0]);
+            case "findAllById":
+                List<Student> found = new ArrayList<>();
+                ((Iterable<Integer>) args[0]).forEach(id -> Optional.ofNullable(students.get(id))
+                        .map(Student::copy).ifPresent(found::add));
+                return found;
+            case "findAll":
+                return students.values().stream().map(Student::copy).collect(Collectors.toList());
+            case "streamAllOrderById":
+                return students.values().stream().map(Student::copy);
+            case "findByIdGreaterThanOrderByIdAsc":
+                return students.tailMap((Integer) args[0], false).values().stream()
+                        .limit(((Pageable) args[1]).getPageSize())
+                        .map(Student::copy)
+                        .collect(Collectors.toList());
+            case "findViewsByIdGreaterThan":
+                return students.tailMap((Integer) args[0], false).values().stream()
+                        .limit((Integer) args[1])
+                        .map(student -> StudentView.of(student, (Set<StudentField>) args[2]))
+                        .collect(Collectors.toList());
+            case "streamViewsOrderById":
+                return students.values().stream().map(student -> StudentView.of(student, (Set<StudentField>) args[0]));
+            case "findVersionById":
+                Student versioned = students.get((Integer) args[0]);
+                return versioned != null ? versioned.getVersion() : null;
+            case "findIdByUsername":
+                return students.values().stream().filter(s -> s.getUsername().equals(args[0]))
+                        .map(Student::getId).findFirst().orElse(null);
+            case "findStudentByUsername":
+                return students.values().stream().filter(s -> s.getUsername().equals(args[0]))
+                        .map(Student::copy).findFirst().orElse(null);
+            case "insertAll":
+                List<StudentBatchItemResult> results = new ArrayList<>();
+                List<Student> batch = (List<Student>) args[0];
+                for (int i = 0; i < batch.size(); i++) {
+                    results.add(new StudentBatchItemResult(i, save(batch.get(i)).getId(),
+                            StudentBatchItemResult.Status.CREATED));
+                }
+                return results;
+            case "patch":
+                return patch((Student) args[0]);
+            case "removeById":
+                return students.remove((Integer) args[0]) != null ? 1 : 0;
+            case "removeAllByIdIn":
+                return ((Collection<Integer>) args[0]).stream().filter(id -> students.remove(id) != null)
+                        .collect(Collectors.toList());
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryStudentRepository";
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    /**
+     * Сохранение студента.
+     *
+     * @param student студент
+     * @return сохраненный студент
+     */
+    private Student save(Student student) {
+        if (student.getId() == null) {
+            student.setId(sequence.incrementAndGet());
+        }
+        if (student.getVersion() == null) {
+            student.setVersion(0L);
+        }
+        students.put(student.getId(), student.copy());
+        return student;
+    }
+
+    /**
+     * Частичное обновление студента.
+     *
+     * @param patch изменения студента
+     * @return количество обновленных студентов
+     */
+    private int patch(Student patch) {
+        Student student = students.get(patch.getId());
+        if (student == null || (patch.getPassword() != null && !student.isAccountNonExpired())
+                || (patch.getVersion() != null && !patch.getVersion().equals(student.getVersion()))) {
+            return 0;
+        }
+        if (patch.getPassword() != null || patch.getFirstname() != null || patch.getLastname() != null
+                || patch.getMail() != null) {
+            student.setVersion(student.getVersion() + 1);
+        }
+        if (patch.getPassword() != null) {
+            student.setPassword(patch.getPassword());
+        }
+        if (patch.getFirstname() != null) {
+            student.setFirstname(patch.getFirstname());
+        }
+        if (patch.getLastname() != null) {
+            student.setLastname(patch.getLastname());
+        }
+        if (patch.getMail() != null) {
+            student.setMail(patch.getMail());
+        }
+        return 1;
+    }
+}
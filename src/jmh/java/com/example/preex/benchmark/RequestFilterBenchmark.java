@@ -0,0 +1,135 @@
+package com.example.preex.benchmark;
+
+import com.example.preex.controller.request.RequestFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.preex.controller.StudentController.PATH_STUDENT;
+
+/**
+ * Бенчмарк сохранения тела запроса в {@link RequestFilter}
+ * в сравнении с прежней оберткой {@link ContentCachingRequestWrapper}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestFilterBenchmark {
+
+    /**
+     * Размер тела запроса в байтах.
+     */
+    @Param({"1024", "65536", "1048576"})
+    public int bodySize;
+
+    /**
+     * Тело запроса.
+     */
+    private byte[] body;
+
+    /**
+     * Фильтр, сохраняющий тело запросов к студентам.
+     */
+    private RequestFilter capturingFilter;
+
+    /**
+     * Фильтр с настройками по умолчанию, не сохраняющий тело.
+     */
+    private RequestFilter passThroughFilter;
+
+    /**
+     * Цепочка фильтров, читающая тело запроса целиком, как это делает десериализация.
+     */
+    private final FilterChain readingChain = (request, response) -> StreamUtils.drain(request.getInputStream());
+
+    @Setup
+    public void setUp() {
+        body = new byte[bodySize];
+        Arrays.fill(body, (byte) 'a');
+        capturingFilter = new RequestFilter(List.of(PATH_STUDENT + "/**"), Set.of("POST", "PUT"),
+                DataSize.ofKilobytes(8), 64);
+        passThroughFilter = new RequestFilter(List.of(), Set.of("POST", "PUT"), DataSize.ofKilobytes(8), 64);
+    }
+
+    @Benchmark
+    public void contentCachingWrapper() throws IOException, ServletException {
+        readingChain.doFilter(new ContentCachingRequestWrapper(request()), new MockHttpServletResponse());
+    }
+
+    @Benchmark
+    public void capturingFilter() throws IOException, ServletException {
+        capturingFilter.doFilter(request(), new MockHttpServletResponse(), readingChain);
+    }
+
+    @Benchmark
+    public void passThroughFilter() throws IOException, ServletException {
+        passThroughFilter.doFilter(request(), new MockHttpServletResponse(), readingChain);
+    }
+
+    /**
+     * Создание запроса изменения студента.
+     *
+     * @return запрос
+     */
+    private MockHttpServletRequest request() {
+        // Поток тела у MockHttpServletRequest читает по байту, поэтому подставляем поток с блочным чтением
+        ByteArrayInputStream content = new ByteArrayInputStream(body);
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", PATH_STUDENT + "/1") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return new ServletInputStream() {
+                    @Override
+                    public int read() {
+                        return content.read();
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) {
+                        return content.read(b, off, len);
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return content.available() == 0;
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener readListener) {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+        request.setContentType("application/json");
+        return request;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.preex.benchmark;
+
+import com.example.preex.model.Student;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк сериализации и десериализации списка студентов в форматах ответа: JSON, CBOR и Smile.
+ * Размер списка в каждом формате выводится при подготовке бенчмарка.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentFormatBenchmark {
+
+    /**
+     * Тип списка студентов.
+     */
+    private static final TypeReference<List<Student>> STUDENT_LIST = new TypeReference<>() {
+    };
+
+    /**
+     * Формат.
+     */
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    /**
+     * Сериализатор формата.
+     */
+    private ObjectMapper objectMapper;
+
+    /**
+     * Список из 1000 студентов.
+     */
+    private List<Student> students;
+
+    /**
+     * Список из 1000 студентов в формате.
+     */
+    private byte[] studentsBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory());
+            case "smile" -> builder.factory(new SmileFactory());
+            default -> {
+            }
+        }
+        objectMapper = builder.build();
+        students = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Student listStudent = InMemoryStudentRepository.newStudent("username" + i);
+            listStudent.setId(i);
+            students.add(listStudent);
+        }
+        studentsBytes = objectMapper.writeValueAsBytes(students);
+        System.out.printf("%n%s: %d bytes for %d students%n", format, studentsBytes.length, students.size());
+    }
+
+    @Benchmark
+    public byte[] serializeStudentList() throws IOException {
+        return objectMapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public List<Student> deserializeStudentList() throws IOException {
+        return objectMapper.readValue(studentsBytes, STUDENT_LIST);
+    }
+}
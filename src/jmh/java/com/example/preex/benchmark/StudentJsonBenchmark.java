@@ -0,0 +1,96 @@
+package com.example.preex.benchmark;
+
+import com.example.preex.model.Student;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк сериализации и десериализации студентов сериализатором, настроенным как в приложении.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentJsonBenchmark {
+
+    /**
+     * Тип списка студентов.
+     */
+    private static final TypeReference<List<Student>> STUDENT_LIST = new TypeReference<>() {
+    };
+
+    /**
+     * Сериализатор.
+     */
+    private ObjectMapper objectMapper;
+
+    /**
+     * Студент.
+     */
+    private Student student;
+
+    /**
+     * Студент в JSON.
+     */
+    private byte[] studentJson;
+
+    /**
+     * Список из 1000 студентов.
+     */
+    private List<Student> students;
+
+    /**
+     * Список из 1000 студентов в JSON.
+     */
+    private byte[] studentsJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        student = InMemoryStudentRepository.newStudent("username");
+        student.setId(1);
+        studentJson = objectMapper.writeValueAsBytes(student);
+        students = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Student listStudent = InMemoryStudentRepository.newStudent("username" + i);
+            listStudent.setId(i);
+            students.add(listStudent);
+        }
+        studentsJson = objectMapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] serializeStudent() throws IOException {
+        return objectMapper.writeValueAsBytes(student);
+    }
+
+    @Benchmark
+    public Student deserializeStudent() throws IOException {
+        return objectMapper.readValue(studentJson, Student.class);
+    }
+
+    @Benchmark
+    public byte[] serializeStudentList() throws IOException {
+        return objectMapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public List<Student> deserializeStudentList() throws IOException {
+        return objectMapper.readValue(studentsJson, STUDENT_LIST);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.preex.benchmark;
+
+import com.example.preex.model.Student;
+import com.example.preex.model.StudentSearchPage;
+import com.example.preex.repository.StudentRepository;
+import com.example.preex.service.Impl.StudentServiceImpl;
+import com.example.preex.service.loader.StudentBatchLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк методов {@link StudentServiceImpl} поверх репозитория в памяти.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentServiceBenchmark {
+
+    /**
+     * Количество студентов в репозитории.
+     */
+    private static final int STUDENT_COUNT = 10_000;
+
+    /**
+     * Пакетный загрузчик студентов.
+     */
+    private StudentBatchLoader studentBatchLoader;
+
+    /**
+     * Сервис студентов.
+     */
+    private StudentServiceImpl studentService;
+
+    @Setup
+    public void setUp() {
+        StudentRepository studentRepository = InMemoryStudentRepository.create(STUDENT_COUNT);
+        studentBatchLoader = BenchmarkFixtures.studentBatchLoader(studentRepository);
+        studentService = BenchmarkFixtures.studentService(studentRepository, studentBatchLoader);
+    }
+
+    @TearDown
+    public void tearDown() {
+        studentBatchLoader.destroy();
+    }
+
+    @Benchmark
+    public Student getStudentById() {
+        return studentService.getStudentById(randomId());
+    }
+
+    @Benchmark
+    public Student getStudentByUsername() {
+        return studentService.getStudentByUsername("student" + (randomId() - 1));
+    }
+
+    @Benchmark
+    public List<Student> getStudentsPage() {
+        return studentService.getStudentsPage(randomId(), 100);
+    }
+
+    @Benchmark
+    public void updateStudent() {
+        Student patch = new Student();
+        patch.setId(randomId());
+        patch.setFirstname("NewTestFirstName");
+        studentService.updateStudent(patch);
+    }
+
+    @Benchmark
+    public StudentSearchPage searchStudentsByPrefix() {
+        return studentService.searchStudents("student" + randomId() / 10, 0, 20);
+    }
+
+    @Benchmark
+    public StudentSearchPage searchStudentsWithTypo() {
+        return studentService.searchStudents("stdent" + randomId(), 0, 20);
+    }
+
+    /**
+     * Случайный ИД существующего студента.
+     *
+     * @return ИД студента
+     */
+    private static int randomId() {
+        return ThreadLocalRandom.current().nextInt(STUDENT_COUNT) + 1;
+    }
+}
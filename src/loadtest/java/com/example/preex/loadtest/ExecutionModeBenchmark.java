@@ -0,0 +1,62 @@
+package com.example.preex.loadtest;
+
+import com.example.preex.execution.VirtualThreadConfiguration;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Сравнение выполнения запросов в пуле потоков Tomcat и на виртуальных потоках при медленной БД.
+ * <p>
+ * Выполняет нагрузочный тест дважды, каждый раз на новой встроенной БД, с {@code preex.execution.virtual-threads}
+ * равным {@code false} и {@code true}. Отчеты записываются в {@code target/loadtest-platform-threads.json} и
+ * {@code target/loadtest-virtual-threads.json}. По умолчанию клиентов больше, чем потоков Tomcat, а каждый SQL запрос
+ * задерживается, чтобы пул потоков заканчивался раньше процессора. Аргументы командной строки, как у
+ * {@link LoadTestRunner}, переопределяют умолчания.
+ * <p>
+ * Виртуальные потоки доступны начиная с Java 21. На более ранних версиях приложение выполняло бы запросы в пуле
+ * Tomcat, и отчет о виртуальных потоках описывал бы другой режим, поэтому сравнение не запускается.
+ * <p>
+ * Запуск: {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.example.preex.loadtest.ExecutionModeBenchmark}
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+public final class ExecutionModeBenchmark {
+
+    /**
+     * Параметры по умолчанию.
+     */
+    private static final List<String> DEFAULT_ARGS = List.of(
+            "--clients=200",
+            "--rps=0",
+            "--warmup=PT15S",
+            "--duration=PT60S",
+            "--db-latency=PT0.05S",
+            "--app.server.tomcat.threads.max=50",
+            "--app.preex.service-log.sample-rate=0.01");
+
+    /**
+     * Конструктор.
+     */
+    private ExecutionModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (!VirtualThreadConfiguration.isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21, the benchmark runs on Java "
+                    + Runtime.version().feature());
+        }
+        for (String mode : new String[]{"platform", "virtual"}) {
+            List<String> modeArgs = new ArrayList<>(DEFAULT_ARGS);
+            modeArgs.addAll(Arrays.asList(args));
+            modeArgs.add("--app.preex.execution.virtual-threads=" + mode.equals("virtual"));
+            LoadTestOptions options = LoadTestOptions.parse(modeArgs.toArray(String[]::new));
+            options.report = Path.of("target", "loadtest-" + mode + "-threads.json");
+            System.out.println("Execution mode: " + mode + " threads");
+            LoadTestRunner.run(options);
+        }
+    }
+}
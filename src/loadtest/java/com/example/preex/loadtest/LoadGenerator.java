@@ -0,0 +1,425 @@
+package com.example.preex.loadtest;
+
+import com.example.preex.loadtest.LoadTestOptions.Operation;
+import com.example.preex.model.StudentBatchItemResult;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.example.preex.controller.StudentController.PATH_STUDENT;
+
+/**
+ * Генератор нагрузки с замкнутым циклом: каждый клиент отправляет следующий запрос после ответа на предыдущий,
+ * а общий темп ограничивается целевой частотой запросов.
+ * <p>
+ * Задержка отсчитывается от запланированного времени отправки, а не от фактического, поэтому очередь перед
+ * отправкой при перегрузке сервера тоже попадает в задержку (поправка на coordinated omission).
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+final class LoadGenerator {
+
+    /**
+     * Максимальная фиксируемая задержка, нс.
+     */
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Размер пакета при начальном создании студентов.
+     */
+    private static final int SEED_BATCH_SIZE = 500;
+
+    /**
+     * Параметры теста.
+     */
+    private final LoadTestOptions options;
+
+    /**
+     * Адрес точки студентов.
+     */
+    private final String studentUrl;
+
+    /**
+     * HTTP клиент.
+     */
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    /**
+     * Разбор ответов.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Номера существующих студентов, созданных тестом, по ИД. Номер определяет e-mail студента.
+     */
+    private final Map<Integer, Integer> studentNumbers = new ConcurrentHashMap<>();
+
+    /**
+     * ИД существующих студентов для случайного выбора без копирования.
+     */
+    private final StudentIds studentIds = new StudentIds();
+
+    /**
+     * Номер следующего создаваемого студента.
+     */
+    private final AtomicInteger studentNumber = new AtomicInteger();
+
+    /**
+     * Запланированное время следующего запроса, нс.
+     */
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    /**
+     * Результаты по операциям.
+     */
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    /**
+     * Признак записи результатов (после прогрева).
+     */
+    private volatile boolean recording;
+
+    /**
+     * Признак работы клиентов.
+     */
+    private volatile boolean running;
+
+    /**
+     * Конструктор.
+     *
+     * @param options параметры теста
+     * @param baseUrl адрес приложения
+     */
+    LoadGenerator(LoadTestOptions options, String baseUrl) {
+        this.options = options;
+        this.studentUrl = baseUrl + PATH_STUDENT;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * Создание начального набора студентов пакетной операцией.
+     */
+    void seed() throws IOException, InterruptedException {
+        for (int offset = 0; offset < options.seedStudents; offset += SEED_BATCH_SIZE) {
+            if (createStudents(Math.min(SEED_BATCH_SIZE, options.seedStudents - offset)) == 0) {
+                throw new IllegalStateException("Seeding failed at student " + offset);
+            }
+        }
+    }
+
+    /**
+     * Прогрев и измерение.
+     *
+     * @return результаты по операциям
+     */
+    Map<Operation, OperationStats> run() throws InterruptedException {
+        running = true;
+        nextSlot.set(System.nanoTime());
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < options.clients; i++) {
+            Thread client = new Thread(this::clientLoop, "loadtest-client-" + i);
+            client.start();
+            clients.add(client);
+        }
+        Thread.sleep(options.warmup.toMillis());
+        long start = System.nanoTime();
+        // Отставание от графика, накопленное при прогреве, не должно попадать в измерение
+        nextSlot.set(start);
+        recording = true;
+        Thread.sleep(options.duration.toMillis());
+        recording = false;
+        long elapsed = System.nanoTime() - start;
+        running = false;
+        for (Thread client : clients) {
+            client.join();
+        }
+        stats.values().forEach(operationStats -> operationStats.elapsedNanos = elapsed);
+        return stats;
+    }
+
+    /**
+     * Цикл клиента.
+     */
+    private void clientLoop() {
+        long interval = options.targetRps > 0 ? TimeUnit.SECONDS.toNanos(1) / options.targetRps : 0;
+        int totalWeight = options.mix.values().stream().mapToInt(Integer::intValue).sum();
+        while (running) {
+            long intended = interval > 0 ? nextSlot.getAndAdd(interval) : System.nanoTime();
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pickOperation(totalWeight);
+            boolean success;
+            try {
+                success = execute(operation);
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (recording) {
+                stats.get(operation).record(Math.min(System.nanoTime() - intended, MAX_LATENCY_NANOS), success);
+            }
+        }
+    }
+
+    /**
+     * Выбор операции по весам смеси.
+     *
+     * @param totalWeight сумма весов
+     * @return операция
+     */
+    private Operation pickOperation(int totalWeight) {
+        int point = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : options.mix.entrySet()) {
+            point -= entry.getValue();
+            if (point < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.GET;
+    }
+
+    /**
+     * Выполнение операции.
+     *
+     * @param operation операция
+     * @return {@code true}, если получен ожидаемый ответ
+     */
+    private boolean execute(Operation operation) throws IOException, InterruptedException {
+        Integer id = randomStudentId();
+        switch (operation) {
+            case CREATE -> {
+                return createStudents(1) == 1;
+            }
+            case UPDATE -> {
+                if (id == null) {
+                    return false;
+                }
+                // При отложенной записи (preex.write-behind.enabled) изменение принимается в буфер с ответом 202
+                int status = send(jsonPut(studentUrl + "/" + id,
+                        "{\"firstname\":\"Updated" + ThreadLocalRandom.current().nextInt() + "\"}")).statusCode();
+                return status == 200 || status == 202;
+            }
+            case GET -> {
+                return id != null && send(HttpRequest.newBuilder(URI.create(studentUrl + "/" + id)).GET()).statusCode() == 200;
+            }
+            case GET_PAGE -> {
+                return send(HttpRequest.newBuilder(URI.create(studentUrl + "?limit=100&after=" + (id != null ? id : 0)))
+                        .GET()).statusCode() == 200;
+            }
+            case GET_ALL -> {
+                return send(HttpRequest.newBuilder(URI.create(studentUrl)).GET()).statusCode() == 200;
+            }
+            case DELETE -> {
+                if (id == null || studentNumbers.remove(id) == null) {
+                    return true;
+                }
+                studentIds.remove(id);
+                return send(HttpRequest.newBuilder(URI.create(studentUrl + "/" + id)).DELETE()).statusCode() == 202;
+            }
+            case CONFLICT -> {
+                Integer other = randomStudentId();
+                Integer otherNumber = other != null ? studentNumbers.get(other) : null;
+                if (id == null || otherNumber == null || id.equals(other)) {
+                    return true;
+                }
+                // Ожидается 409 от обработчика нарушения unique_mail в ControllerExceptionAspect
+                return send(jsonPut(studentUrl, "{\"id\":" + id + ",\"mail\":\"" + mail(otherNumber) + "\"}"))
+                        .statusCode() / 100 == 4;
+            }
+            default -> throw new IllegalStateException(operation.name());
+        }
+    }
+
+    /**
+     * Случайный ИД существующего студента.
+     *
+     * @return ИД или {@code null}, если студентов нет
+     */
+    private Integer randomStudentId() {
+        return studentIds.random();
+    }
+
+    /**
+     * Создание студентов пакетной операцией.
+     *
+     * @param count количество студентов
+     * @return количество созданных студентов
+     */
+    private int createStudents(int count) throws IOException, InterruptedException {
+        int firstNumber = studentNumber.getAndAdd(count) + 1;
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            int number = firstNumber + i;
+            body.append(i > 0 ? "," : "")
+                    .append("{\"firstname\":\"Load").append(number)
+                    .append("\",\"lastname\":\"Test").append(number)
+                    .append("\",\"mail\":\"").append(mail(number))
+                    .append("\",\"username\":\"loadtest").append(number)
+                    .append("\",\"password\":\"test\"}");
+        }
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(studentUrl + "/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.append("]").toString())));
+        if (response.statusCode() != 200) {
+            return 0;
+        }
+        int created = 0;
+        for (StudentBatchItemResult result : objectMapper.readValue(response.body(),
+                new TypeReference<List<StudentBatchItemResult>>() {
+                })) {
+            if (result.getStatus() == StudentBatchItemResult.Status.CREATED) {
+                studentNumbers.put(result.getId(), firstNumber + result.getIndex());
+                studentIds.add(result.getId());
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * E-mail студента по номеру. Номер известен генератору, поэтому можно специально нарушить unique_mail.
+     *
+     * @param number номер студента
+     * @return e-mail
+     */
+    private static String mail(int number) {
+        return "loadtest" + number + "@mail.ru";
+    }
+
+    /**
+     * Запрос PUT с телом JSON.
+     *
+     * @param url  адрес
+     * @param json тело
+     * @return запрос
+     */
+    private static HttpRequest.Builder jsonPut(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    /**
+     * Отправка запроса.
+     *
+     * @param request запрос
+     * @return ответ
+     */
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Результаты одной операции.
+     */
+    static final class OperationStats {
+
+        /**
+         * Задержки успешных запросов, нс.
+         */
+        final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+
+        /**
+         * Количество ошибок.
+         */
+        final LongAdder errors = new LongAdder();
+
+        /**
+         * Длительность измерения, нс.
+         */
+        long elapsedNanos;
+
+        /**
+         * Запись результата запроса.
+         *
+         * @param latencyNanos задержка, нс
+         * @param success      признак успеха
+         */
+        void record(long latencyNanos, boolean success) {
+            latency.recordValue(latencyNanos);
+            if (!success) {
+                errors.increment();
+            }
+        }
+    }
+
+    /**
+     * ИД студентов со случайным выбором, добавлением и удалением за O(1): удаляемый ИД заменяется последним.
+     */
+    static final class StudentIds {
+
+        /**
+         * ИД студентов.
+         */
+        private final List<Integer> ids = new ArrayList<>();
+
+        /**
+         * Позиции ИД в списке.
+         */
+        private final Map<Integer, Integer> positions = new HashMap<>();
+
+        /**
+         * Добавление ИД.
+         *
+         * @param id ИД студента
+         */
+        synchronized void add(Integer id) {
+            if (positions.putIfAbsent(id, ids.size()) == null) {
+                ids.add(id);
+            }
+        }
+
+        /**
+         * Удаление ИД.
+         *
+         * @param id ИД студента
+         */
+        synchronized void remove(Integer id) {
+            Integer position = positions.remove(id);
+            if (position == null) {
+                return;
+            }
+            Integer last = ids.remove(ids.size() - 1);
+            if (position < ids.size()) {
+                ids.set(position, last);
+                positions.put(last, position);
+            }
+        }
+
+        /**
+         * Случайный ИД.
+         *
+         * @return ИД или {@code null}, если студентов нет
+         */
+        synchronized Integer random() {
+            return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+    }
+}
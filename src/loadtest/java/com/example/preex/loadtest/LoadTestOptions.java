@@ -0,0 +1,180 @@
+package com.example.preex.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Параметры нагрузочного теста.
+ * Задаются аргументами командной строки вида {@code --clients=32}, неизвестные ключи {@code --app.<свойство>=значение}
+ * передаются приложению как свойства Spring.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+final class LoadTestOptions {
+
+    /**
+     * Количество одновременных клиентов.
+     */
+    int clients = 16;
+
+    /**
+     * Целевая суммарная частота запросов в секунду, 0 - без ограничения.
+     */
+    int targetRps = 500;
+
+    /**
+     * Длительность прогрева, результаты которого не попадают в отчет.
+     */
+    Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * Длительность измерения.
+     */
+    Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * Количество студентов, создаваемых перед началом теста.
+     */
+    int seedStudents = 1000;
+
+    /**
+     * Адрес уже запущенного приложения. Если не задан, приложение поднимается внутри теста.
+     */
+    String baseUrl;
+
+    /**
+     * Адрес БД для поднимаемого приложения. Если не задан, запускается встроенный Postgres.
+     */
+    String jdbcUrl;
+
+    /**
+     * Пользователь БД.
+     */
+    String jdbcUsername = "postgres";
+
+    /**
+     * Пароль БД.
+     */
+    String jdbcPassword = "postgres";
+
+    /**
+     * Искусственная задержка каждого SQL запроса поднимаемого приложения, см. {@link SlowDataSourcePostProcessor}.
+     */
+    Duration dbLatency = Duration.ZERO;
+
+    /**
+     * Файл отчета.
+     */
+    Path report = Path.of("target", "loadtest-report.json");
+
+    /**
+     * Веса операций в смеси запросов.
+     */
+    final Map<Operation, Integer> mix = new LinkedHashMap<>();
+
+    /**
+     * Дополнительные свойства поднимаемого приложения.
+     */
+    final Map<String, Object> appProperties = new LinkedHashMap<>();
+
+    /**
+     * Конструктор со смесью по умолчанию.
+     */
+    LoadTestOptions() {
+        mix.put(Operation.GET, 50);
+        mix.put(Operation.UPDATE, 15);
+        mix.put(Operation.CREATE, 10);
+        mix.put(Operation.DELETE, 5);
+        mix.put(Operation.GET_PAGE, 10);
+        mix.put(Operation.GET_ALL, 1);
+        mix.put(Operation.CONFLICT, 9);
+    }
+
+    /**
+     * Разбор аргументов командной строки.
+     *
+     * @param args аргументы
+     * @return параметры
+     */
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "clients" -> options.clients = Integer.parseInt(value);
+                case "rps" -> options.targetRps = Integer.parseInt(value);
+                case "warmup" -> options.warmup = Duration.parse(value);
+                case "duration" -> options.duration = Duration.parse(value);
+                case "seed" -> options.seedStudents = Integer.parseInt(value);
+                case "base-url" -> options.baseUrl = value;
+                case "jdbc-url" -> options.jdbcUrl = value;
+                case "jdbc-username" -> options.jdbcUsername = value;
+                case "jdbc-password" -> options.jdbcPassword = value;
+                case "db-latency" -> options.dbLatency = Duration.parse(value);
+                case "report" -> options.report = Path.of(value);
+                case "mix" -> options.parseMix(value);
+                default -> {
+                    if (!key.startsWith("app.")) {
+                        throw new IllegalArgumentException("Unknown option --" + key);
+                    }
+                    options.appProperties.put(key.substring("app.".length()), value);
+                }
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Разбор смеси операций вида {@code get=50,update=15}.
+     *
+     * @param value смесь операций
+     */
+    private void parseMix(String value) {
+        mix.clear();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase().replace('-', '_')), Integer.parseInt(parts[1].trim()));
+        }
+    }
+
+    /**
+     * Операция нагрузочного теста.
+     */
+    enum Operation {
+        /**
+         * Создание студента.
+         */
+        CREATE,
+        /**
+         * Частичное обновление студента.
+         */
+        UPDATE,
+        /**
+         * Получение студента по ИД.
+         */
+        GET,
+        /**
+         * Получение страницы студентов.
+         */
+        GET_PAGE,
+        /**
+         * Получение всех студентов.
+         */
+        GET_ALL,
+        /**
+         * Удаление студента.
+         */
+        DELETE,
+        /**
+         * Обновление с нарушением unique_mail, обрабатываемое ControllerExceptionAspect.
+         */
+        CONFLICT
+    }
+}
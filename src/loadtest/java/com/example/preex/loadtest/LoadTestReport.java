@@ -0,0 +1,126 @@
+package com.example.preex.loadtest;
+
+import com.example.preex.loadtest.LoadGenerator.OperationStats;
+import com.example.preex.loadtest.LoadTestOptions.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON отчет нагрузочного теста для сравнения сборок.
+ * <p>
+ * Для каждой операции и в сумме содержит количество запросов и ошибок, пропускную способность и перцентили
+ * задержки в миллисекундах.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+final class LoadTestReport {
+
+    /**
+     * Конструктор.
+     */
+    private LoadTestReport() {
+    }
+
+    /**
+     * Запись отчета в файл и краткой сводки в консоль.
+     *
+     * @param options параметры теста
+     * @param stats   результаты по операциям
+     */
+    static void write(LoadTestOptions options, Map<Operation, OperationStats> stats) throws IOException {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("clients", options.clients);
+        config.put("targetRps", options.targetRps);
+        config.put("warmupSeconds", options.warmup.toSeconds());
+        config.put("durationSeconds", options.duration.toSeconds());
+        config.put("seedStudents", options.seedStudents);
+        config.put("dbLatencyMillis", options.dbLatency.toMillis());
+        config.put("mix", options.mix);
+        config.put("appProperties", options.appProperties);
+
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        long elapsedNanos = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            if (operationStats.latency.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(operationStats.latency);
+            totalErrors += operationStats.errors.sum();
+            elapsedNanos = operationStats.elapsedNanos;
+            operations.put(entry.getKey().name(),
+                    summary(operationStats.latency, operationStats.errors.sum(), elapsedNanos));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("config", config);
+        report.put("total", summary(total, totalErrors, elapsedNanos));
+        report.put("operations", operations);
+
+        if (options.report.getParent() != null) {
+            Files.createDirectories(options.report.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.report.toFile(), report);
+        System.out.printf("%-10s %10s %8s %10s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "rps", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        operations.forEach((name, summary) -> print(name, (Map<?, ?>) summary));
+        print("TOTAL", (Map<?, ?>) report.get("total"));
+        System.out.println("Report: " + options.report.toAbsolutePath());
+    }
+
+    /**
+     * Сводка по гистограмме задержек.
+     *
+     * @param latency      задержки, нс
+     * @param errors       количество ошибок
+     * @param elapsedNanos длительность измерения, нс
+     * @return сводка
+     */
+    private static Map<String, Object> summary(Histogram latency, long errors, long elapsedNanos) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        long count = latency.getTotalCount();
+        summary.put("requests", count);
+        summary.put("errors", errors);
+        summary.put("throughputRps", elapsedNanos > 0 ? count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0.0);
+        summary.put("p50Ms", millis(latency.getValueAtPercentile(50)));
+        summary.put("p90Ms", millis(latency.getValueAtPercentile(90)));
+        summary.put("p99Ms", millis(latency.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(latency.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(latency.getMaxValue()));
+        return summary;
+    }
+
+    /**
+     * Перевод наносекунд в миллисекунды.
+     *
+     * @param nanos наносекунды
+     * @return миллисекунды
+     */
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Вывод строки сводки в консоль.
+     *
+     * @param name    операция
+     * @param summary сводка
+     */
+    private static void print(String name, Map<?, ?> summary) {
+        System.out.printf("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name,
+                summary.get("requests"), summary.get("errors"), summary.get("throughputRps"),
+                summary.get("p50Ms"), summary.get("p99Ms"), summary.get("p999Ms"), summary.get("maxMs"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.preex.loadtest;
+
+import com.example.preex.PreExApplication;
+import com.example.preex.loadtest.LoadGenerator.OperationStats;
+import com.example.preex.loadtest.LoadTestOptions.Operation;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Запуск нагрузочного теста.
+ * <p>
+ * Без параметров поднимает встроенный Postgres и приложение на случайном порту, создает студентов, прогревает
+ * приложение и измеряет смесь запросов. Результаты записываются в JSON отчет, см. {@link LoadTestReport}.
+ * <p>
+ * Запуск: {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--clients=32 --rps=1000"}
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+public final class LoadTestRunner {
+
+    /**
+     * Конструктор.
+     */
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        run(LoadTestOptions.parse(args));
+    }
+
+    /**
+     * Выполнение нагрузочного теста.
+     *
+     * @param options параметры теста
+     * @return результаты по операциям
+     */
+    static Map<Operation, OperationStats> run(LoadTestOptions options) throws Exception {
+        EmbeddedPostgres postgres = null;
+        ConfigurableApplicationContext application = null;
+        try {
+            String baseUrl = options.baseUrl;
+            if (baseUrl == null) {
+                String jdbcUrl = options.jdbcUrl;
+                if (jdbcUrl == null) {
+                    postgres = EmbeddedPostgres.builder().start();
+                    jdbcUrl = postgres.getJdbcUrl(options.jdbcUsername, "postgres");
+                }
+                application = startApplication(options, jdbcUrl);
+                baseUrl = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort();
+            }
+            LoadGenerator generator = new LoadGenerator(options, baseUrl);
+            generator.seed();
+            Map<Operation, OperationStats> stats = generator.run();
+            LoadTestReport.write(options, stats);
+            return stats;
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    /**
+     * Запуск приложения на случайном порту.
+     *
+     * @param options параметры теста
+     * @param jdbcUrl адрес БД
+     * @return контекст приложения
+     */
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options, String jdbcUrl) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        // Тестовый application.properties подключает Testcontainers, возвращаем обычный драйвер
+        properties.put("spring.datasource.driver-class-name", "org.postgresql.Driver");
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", options.jdbcUsername);
+        properties.put("spring.datasource.password", options.jdbcPassword);
+        // Снимок списка выключен в тестовом application.properties, нагрузка идет через API и его не обходит
+        properties.put("preex.student-snapshot.enabled", true);
+        // Вся нагрузка идет от одного клиента, ограничение частоты включается явно через --app.
+        properties.put("preex.rate-limit.enabled", false);
+        properties.putAll(options.appProperties);
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(PreExApplication.class);
+        if (!options.dbLatency.isZero()) {
+            properties.put(SlowDataSourcePostProcessor.LATENCY_PROPERTY, options.dbLatency);
+            builder.sources(SlowDataSourcePostProcessor.class);
+        }
+        // Передаются аргументами, так как свойства по умолчанию перекрываются application.properties
+        return builder.run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.preex.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Имитация медленной БД: каждый SQL запрос приложения выполняется с задержкой {@code loadtest.db-latency}.
+ * <p>
+ * Задержка выдерживается до выполнения запроса, пока поток запроса держит соединение, как при медленном ответе БД.
+ * Регистрируется {@link LoadTestRunner}, если задан параметр {@code --db-latency}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+public class SlowDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    /**
+     * Свойство с задержкой запроса.
+     */
+    static final String LATENCY_PROPERTY = "loadtest.db-latency";
+
+    /**
+     * Задержка запроса, мс.
+     */
+    private long latencyMillis;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        latencyMillis = environment.getRequiredProperty(LATENCY_PROPERTY, Duration.class).toMillis();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource ? wrap(bean, DataSource.class) : bean;
+    }
+
+    /**
+     * Обертка объекта JDBC: соединения и запросы, которые он возвращает, тоже оборачиваются.
+     *
+     * @param target        объект JDBC
+     * @param interfaceType интерфейс объекта
+     * @return обертка
+     */
+    private Object wrap(Object target, Class<?> interfaceType) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                Thread.sleep(latencyMillis);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            Class<?> returnType = method.getReturnType();
+            if (result != null && (returnType == Connection.class || Statement.class.isAssignableFrom(returnType))) {
+                return wrap(result, returnType);
+            }
+            return result;
+        };
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{interfaceType}, handler);
+    }
+}
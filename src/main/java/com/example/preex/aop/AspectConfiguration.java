@@ -0,0 +1,70 @@
+package com.example.preex.aop;
+
+import com.example.preex.controller.aspect.ControllerExceptionAspect;
+import com.example.preex.service.aspect.ServiceLoggingAspect;
+import org.aspectj.lang.Aspects;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Supplier;
+
+/**
+ * Регистрация обработчиков приложения.
+ * <p>
+ * Обычно обработчики применяются через прокси Spring AOP (JDK или CGLIB, см. {@code spring.aop.proxy-target-class}).
+ * При сборке с профилем {@code ajc} обработчики вплетаются в классы при компиляции: Spring не создает для них прокси,
+ * а в контекст регистрируется экземпляр, созданный AspectJ, чтобы в него были внедрены зависимости.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Configuration
+public class AspectConfiguration {
+
+    /**
+     * Обработчик ошибок контроллера.
+     *
+     * @return обработчик
+     */
+    @Bean
+    public ControllerExceptionAspect controllerExceptionAspect() {
+        return aspectInstance(ControllerExceptionAspect.class, ControllerExceptionAspect::new);
+    }
+
+    /**
+     * Обработчик логгирования сервисов.
+     *
+     * @return обработчик
+     */
+    @Bean
+    public ServiceLoggingAspect serviceLoggingAspect() {
+        return aspectInstance(ServiceLoggingAspect.class, ServiceLoggingAspect::new);
+    }
+
+    /**
+     * Проверка, вплетен ли обработчик при компиляции.
+     *
+     * @param aspectClass класс обработчика
+     * @return {@code true}, если класс обработан ajc
+     */
+    public static boolean isCompileTimeWoven(Class<?> aspectClass) {
+        try {
+            aspectClass.getMethod("aspectOf");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Получение экземпляра обработчика.
+     *
+     * @param aspectClass класс обработчика
+     * @param constructor создание экземпляра для Spring AOP
+     * @param <T>         тип обработчика
+     * @return экземпляр, созданный AspectJ при вплетении при компиляции, иначе новый экземпляр
+     */
+    private static <T> T aspectInstance(Class<T> aspectClass, Supplier<T> constructor) {
+        return isCompileTimeWoven(aspectClass) ? Aspects.aspectOf(aspectClass) : constructor.get();
+    }
+}
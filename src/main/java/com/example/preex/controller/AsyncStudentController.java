@@ -0,0 +1,300 @@
+package com.example.preex.controller;
+
+import com.example.preex.controller.version.StudentETags;
+import com.example.preex.model.Student;
+import com.example.preex.model.StudentBatchItemResult;
+import com.example.preex.model.StudentPage;
+import com.example.preex.service.Impl.StudentServiceImpl;
+import com.example.preex.service.StudentService;
+import com.example.preex.service.bulkhead.StudentServiceBulkhead;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.preex.controller.StudentController.MAX_PAGE_SIZE;
+
+/**
+ * Асинхронный контроллер для работы со студентами.
+ * <p>
+ * Повторяет точки {@link StudentController}, но вызовы сервиса выполняются в {@link StudentServiceBulkhead}:
+ * поток сервлета освобождается сразу, а при медленной БД запросы не копятся в пуле потоков Tomcat. Если очередь
+ * пула заполнена или вызов не выполнен в срок, возвращается 503. Срок можно сократить заголовком
+ * {@value #DEADLINE_HEADER} (в миллисекундах). Версии студентов (ETag, If-Match, If-None-Match) обрабатываются так же,
+ * как в {@link StudentController}. Для изменений срок ограничивает только ожидание в очереди: 503
+ * означает, что изменение не выполнялось и его можно повторить.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@RestController
+@RequestMapping(AsyncStudentController.PATH_ASYNC_STUDENT)
+public class AsyncStudentController {
+
+    /**
+     * Общий путь до асинхронной точки студентов.
+     */
+    public static final String PATH_ASYNC_STUDENT = "/api/async/student";
+
+    /**
+     * Заголовок со сроком выполнения запроса в миллисекундах.
+     */
+    public static final String DEADLINE_HEADER = "X-Deadline-Ms";
+
+    /**
+     * Сервис для работы со студентами.
+     */
+    private final StudentService studentService;
+
+    /**
+     * Изолированный пул вызовов сервиса.
+     */
+    private final StudentServiceBulkhead bulkhead;
+
+    /**
+     * Разбор заголовков версии студента.
+     */
+    private final StudentETags studentETags;
+
+    /**
+     * Конструктор.
+     *
+     * @param studentService сервис для работы со студентами
+     * @param bulkhead       изолированный пул вызовов сервиса
+     * @param studentETags   разбор заголовков версии студента
+     */
+    public AsyncStudentController(StudentService studentService, StudentServiceBulkhead bulkhead,
+                                  StudentETags studentETags) {
+        this.studentService = studentService;
+        this.bulkhead = bulkhead;
+        this.studentETags = studentETags;
+    }
+
+    /**
+     * Создание студента.
+     *
+     * @param student    модель студента
+     * @param deadlineMs срок выполнения, мс
+     * @return сообщение об успешном выполнении операции
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<String>> createStudent(@RequestBody Student student,
+                                                                   @RequestHeader(value = DEADLINE_HEADER, required = false) Long deadlineMs) {
+        return bulkhead.submitChange(deadline(deadlineMs), () -> {
+            studentService.createStudent(student);
+            return ResponseEntity.status(HttpStatus.CREATED).body("Student is created");
+        });
+    }
+
+    /**
+     * Пакетное создание студентов.
+     *
+     * @param students   модели студентов
+     * @param deadlineMs срок выполнения, мс
+     * @return результаты создания каждого студента
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<List<StudentBatchItemResult>>> createStudents(@RequestBody List<Student> students,
+                                                                                         @RequestHeader(value = DEADLINE_HEADER, required = false) Long deadlineMs) {
+        return bulkhead.submitChange(deadline(deadlineMs), () -> ResponseEntity.ok(studentService.createStudents(students)));
+    }
+
+    /**
+     * Обновление студента.
+     *
+     * @param updatedStudent модель студента
+     * @param deadlineMs     срок выполнения, мс
+     * @return сообщение об успешном выполнении операции
+     */
+    @PutMapping
+    public CompletableFuture<ResponseEntity<String>> updateStudent(@RequestBody Student updatedStudent,
+                                                                   @RequestHeader(value = DEADLINE_HEADER, required = false) Long deadlineMs) {
+        return bulkhead.submitChange(deadline(deadlineMs), () -> {
+            studentService.updateStudent(updatedStudent);
+            return ResponseEntity.ok("Student is updated");
+        });
+    }
+
+    /**
+     * Обновление студента по ИД.
+     * С заголовком If-Match студент обновляется, только если его ETag совпадает с одним из переданных
+     * (иначе 412), и в ответе возвращается ETag новой версии.
+     *
+     * @param id             ИД студента
+     * @param updatedStudent модель студента
+     * @param headers        заголовки запроса
+     * @param deadlineMs     срок выполнения, мс
+     * @return сообщение об успешном выполнении операции
+     */
+    @PutMapping("/{id}")
+    public CompletableFuture<ResponseEntity<String>> updateStudentById(@PathVariable Integer id,
+                                                                       @RequestBody Student updatedStudent,
+                                                                       @RequestHeader HttpHeaders headers,
+                                                                       @RequestHeader(value = DEADLINE_HEADER, required = false) Long deadlineMs) {
+        updatedStudent.setId(id);
+        return bulkhead.submitChange(deadline(deadlineMs), () -> {
+            Long expectedVersion = studentETags.expectedVersion(id, headers);
+            if (expectedVersion != null) {
+                updatedStudent.setVersion(expectedVersion);
+            }
+            studentService.updateStudent(updatedStudent);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (updatedStudent.getVersion() != null) {
+                response.eTag(StudentETags.eTag(updatedStudent.getVersion() + 1));
+            }
+            return response.body("Student is updated");
+        });
+    }
+
+    /**
+     * Удаление студента.
+     *
+     * @param id         ИД студента
+     * @param deadlineMs срок выполнения, мс
+     * @return сообщение об успешном выполнении операции
+     */
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<String>> deleteStudent(@PathVariable Integer id,
+                                                                   @RequestHeader(value = DEADLINE_HEADER, required = false) Long deadlineMs) {
+        return bulkhead.submitChange(deadline(deadlineMs), () -> {
+            studentService.deleteStudentById(id);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body("Student is deleted");
+        });
+    }
+
+    /**
+     * Удаление студентов по списку ИД.
+     *
+     * @param ids        ИД студентов
+     * @param deadlineMs срок выполнения, мс
+     * @return сообщение о количестве удаленных студентов
+     */
+    @DeleteMapping
+    public CompletableFuture<ResponseEntity<String>> deleteStudents(@RequestBody List<Integer> ids,
+                                                                    @RequestHeader(value = DEADLINE_HEADER, required = false) Long deadlineMs) {
+        return bulkhead.submitChange(deadline(deadlineMs), () -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body("Students are deleted: " + studentService.deleteStudentsByIds(ids)));
+    }
+
+    /**
+     * Получение студента по ИД.
+     * Ответ содержит ETag с версией студента; при совпадении с If-None-Match возвращается 304 без тела.
+     *
+     * @param id         ИД студента
+     * @param headers    заголовки запроса
+     * @param deadlineMs срок выполнения, мс
+     * @return студент
+     */
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Student>> getStudent(@PathVariable Integer id,
+                                                                 @RequestHeader HttpHeaders headers,
+                                                                 @RequestHeader(value = DEADLINE_HEADER, required = false) Long deadlineMs) {
+        return bulkhead.submit(deadline(deadlineMs), () -> {
+            String notModifiedETag = studentETags.notModifiedETag(id, headers);
+            if (notModifiedETag != null) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(notModifiedETag).<Student>build();
+            }
+            Student student = studentService.getStudentById(id);
+            return ResponseEntity.ok().eTag(StudentETags.eTag(student.getVersion())).body(student);
+        });
+    }
+
+    /**
+     * Получение студентов по списку ИД.
+     *
+     * @param ids        ИД студентов
+     * @param deadlineMs срок выполнения, мс
+     * @return найденные студенты
+     */
+    @GetMapping(params = "ids")
+    public CompletableFuture<ResponseEntity<List<Student>>> getStudentsByIds(@RequestParam List<Integer> ids,
+                                                                             @RequestHeader(value = DEADLINE_HEADER, required = false) Long deadlineMs) {
+        return bulkhead.submit(deadline(deadlineMs), () -> ResponseEntity.ok(studentService.getStudentsByIds(ids)));
+    }
+
+    /**
+     * Получение страницы студентов (keyset-пагинация по ИД).
+     *
+     * @param after      ИД последнего студента предыдущей страницы
+     * @param limit      размер страницы
+     * @param deadlineMs срок выполнения, мс
+     * @return страница студентов
+     */
+    @GetMapping(params = "limit")
+    public CompletableFuture<ResponseEntity<StudentPage>> getStudentsPage(@RequestParam(required = false) Integer after,
+                                                                          @RequestParam int limit,
+                                                                          @RequestHeader(value = DEADLINE_HEADER, required = false) Long deadlineMs) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return bulkhead.submit(deadline(deadlineMs), () -> {
+            List<Student> students = studentService.getStudentsPage(after, pageSize);
+            Integer nextAfter = students.size() == pageSize ? students.get(students.size() - 1).getId() : null;
+            return ResponseEntity.ok(new StudentPage(students, nextAfter));
+        });
+    }
+
+    /**
+     * Обработка отказа из-за перегрузки: клиенту предлагается повторить запрос позже.
+     *
+     * @param exception ошибка
+     * @return ошибка
+     */
+    @ExceptionHandler({StudentServiceBulkhead.BulkheadFullException.class,
+            StudentServiceBulkhead.DeadlineExceededException.class})
+    public ResponseEntity<String> handleOverload(RuntimeException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(exception.getMessage());
+    }
+
+    /**
+     * Обработка нарушения ограничений БД.
+     * {@link com.example.preex.controller.aspect.ControllerExceptionAspect} здесь не срабатывает, так как ошибка
+     * возникает в потоке пула, а не в методе контроллера.
+     *
+     * @param exception ошибка
+     * @return ошибка
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolation(DataIntegrityViolationException exception) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(NestedExceptionUtils.getMostSpecificCause(exception).getMessage());
+    }
+
+    /**
+     * Обработка ошибки истекшего аккаунта.
+     *
+     * @param exception ошибка истекшего аккаунта
+     * @return ошибка
+     */
+    @ExceptionHandler(StudentServiceImpl.AccountIsExpiredException.class)
+    @ResponseStatus(code = HttpStatus.INTERNAL_SERVER_ERROR)
+    public String accountIsExpiredException(StudentServiceImpl.AccountIsExpiredException exception) {
+        return exception.getMessage();
+    }
+
+    /**
+     * Срок выполнения запроса.
+     *
+     * @param deadlineMs срок из заголовка, мс
+     * @return срок или {@code null}, если не задан
+     */
+    private static Duration deadline(Long deadlineMs) {
+        return deadlineMs != null && deadlineMs > 0 ? Duration.ofMillis(deadlineMs) : null;
+    }
+}
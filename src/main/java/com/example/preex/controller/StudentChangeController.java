@@ -0,0 +1,58 @@
+package com.example.preex.controller;
+
+import com.example.preex.controller.feed.StudentChangeSubscriptions;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static com.example.preex.controller.StudentController.PATH_STUDENT;
+
+/**
+ * Контроллер ленты изменений студентов.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@RestController
+@RequestMapping(PATH_STUDENT)
+public class StudentChangeController {
+
+    /**
+     * Заголовок с номером последнего полученного события, передается EventSource при переподключении.
+     */
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    /**
+     * Подписки на изменения студентов.
+     */
+    private final StudentChangeSubscriptions subscriptions;
+
+    /**
+     * Конструктор.
+     *
+     * @param subscriptions подписки на изменения студентов
+     */
+    public StudentChangeController(StudentChangeSubscriptions subscriptions) {
+        this.subscriptions = subscriptions;
+    }
+
+    /**
+     * Поток изменений студентов (server-sent events): события created, updated и deleted с эпохой запуска и номером
+     * изменения в id ({@code <эпоха>-<номер>}) и {@link com.example.preex.service.event.StudentChange} в данных.
+     * Без ИД события передаются только новые изменения. Если изменения после переданного ИД уже недоступны или ИД
+     * получен до перезапуска приложения, сначала отправляется событие {@value StudentChangeSubscriptions#RESET_EVENT}.
+     *
+     * @param lastEventId ИД последнего полученного события из заголовка Last-Event-ID
+     * @param after       ИД последнего полученного события, если заголовок не передан
+     * @return поток событий
+     */
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getChanges(@RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) String lastEventId,
+                                 @RequestParam(required = false) String after) {
+        return subscriptions.subscribe(lastEventId != null ? lastEventId : after);
+    }
+}
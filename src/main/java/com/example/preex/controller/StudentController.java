@@ -1,13 +1,31 @@
 package com.example.preex.controller;
 
+import com.example.preex.controller.format.BinaryFormatConfiguration;
+import com.example.preex.controller.request.CachedBodyRequestWrapper;
+import com.example.preex.controller.snapshot.StudentListingSnapshot;
+import com.example.preex.controller.version.StudentETags;
 import com.example.preex.model.Student;
+import com.example.preex.model.StudentBatchItemResult;
+import com.example.preex.model.StudentField;
+import com.example.preex.model.StudentPage;
+import com.example.preex.model.StudentSearchPage;
+import com.example.preex.model.StudentView;
+import com.example.preex.model.StudentViewPage;
+import com.example.preex.model.StudentViewSearchPage;
 import com.example.preex.service.Impl.StudentServiceImpl;
 import com.example.preex.service.StudentService;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,15 +33,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.security.Principal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Контроллер для работы со студентами.
@@ -40,6 +67,11 @@ public class StudentController {
      */
     public static final String PATH_STUDENT = "/api/student";
 
+    /**
+     * Максимальный размер страницы студентов.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
     /**
      * Сериализатор.
      */
@@ -50,15 +82,55 @@ public class StudentController {
      */
     private final StudentService studentService;
 
+    /**
+     * Сериализаторы студентов для потоковой выдачи по типу содержимого (JSON, CBOR, Smile),
+     * не сбрасывающие поток после каждого студента.
+     */
+    private final Map<MediaType, ObjectWriter> studentStreamWriters = new LinkedHashMap<>();
+
+    /**
+     * Сериализаторы представлений студентов для потоковой выдачи по типу содержимого.
+     */
+    private final Map<MediaType, ObjectWriter> studentViewStreamWriters = new LinkedHashMap<>();
+
+    /**
+     * Снимок списка студентов в виде готового JSON.
+     */
+    private final StudentListingSnapshot studentListingSnapshot;
+
+    /**
+     * Разбор заголовков версии студента.
+     */
+    private final StudentETags studentETags;
+
     /**
      * Конструктор.
      *
-     * @param objectMapper   сериализатор
-     * @param studentService сервис для работы со студентами
+     * @param objectMapper           сериализатор
+     * @param studentService         сервис для работы со студентами
+     * @param studentListingSnapshot снимок списка студентов в виде готового JSON
+     * @param studentETags           разбор заголовков версии студента
+     * @param cborConverter          преобразователь тел в CBOR
+     * @param smileConverter         преобразователь тел в Smile
      */
-    public StudentController(ObjectMapper objectMapper, StudentService studentService) {
+    public StudentController(ObjectMapper objectMapper, StudentService studentService,
+                             StudentListingSnapshot studentListingSnapshot, StudentETags studentETags,
+                             MappingJackson2CborHttpMessageConverter cborConverter,
+                             MappingJackson2SmileHttpMessageConverter smileConverter) {
         this.objectMapper = objectMapper;
         this.studentService = studentService;
+        this.studentListingSnapshot = studentListingSnapshot;
+        this.studentETags = studentETags;
+        Map<MediaType, ObjectMapper> streamMappers = new LinkedHashMap<>();
+        streamMappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        streamMappers.put(MediaType.APPLICATION_CBOR, cborConverter.getObjectMapper());
+        streamMappers.put(BinaryFormatConfiguration.APPLICATION_SMILE, smileConverter.getObjectMapper());
+        streamMappers.forEach((mediaType, mapper) -> {
+            studentStreamWriters.put(mediaType, mapper.writerFor(Student.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+            studentViewStreamWriters.put(mediaType, mapper.writerFor(StudentView.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        });
     }
 
     /**
@@ -73,6 +145,18 @@ public class StudentController {
         return ResponseEntity.status(HttpStatus.CREATED).body("Student is created");
     }
 
+    /**
+     * Пакетное создание студентов.
+     * Дубликаты e-mail и незаполненные студенты не прерывают создание остальных и отражаются в результатах.
+     *
+     * @param students модели студентов
+     * @return результаты создания каждого студента
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<StudentBatchItemResult>> createStudents(@RequestBody List<Student> students) {
+        return ResponseEntity.ok(studentService.createStudents(students));
+    }
+
     /**
      * Обновление студента.
      *
@@ -87,16 +171,32 @@ public class StudentController {
 
     /**
      * Обновление студента по ИД.
+     * С заголовком If-Match студент обновляется, только если его ETag совпадает с одним из переданных
+     * (иначе 412), и в ответе возвращается ETag новой версии. Без If-Match, версии и пароля при включенной
+     * отложенной записи изменения принимаются в буфер и возвращается 202.
      *
      * @param id             ИД студента
      * @param updatedStudent модель студента
+     * @param headers        заголовки запроса
      * @return сообщение об успешном выполнении операции
      */
     @PutMapping("/{id}")
-    public ResponseEntity<String> updateStudentById(@PathVariable Integer id, @RequestBody Student updatedStudent) {
+    public ResponseEntity<String> updateStudentById(@PathVariable Integer id, @RequestBody Student updatedStudent,
+                                                    @RequestHeader HttpHeaders headers) {
         updatedStudent.setId(id);
+        Long expectedVersion = studentETags.expectedVersion(id, headers);
+        if (expectedVersion != null) {
+            updatedStudent.setVersion(expectedVersion);
+        }
+        if (studentService.deferStudentUpdate(updatedStudent)) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body("Student update is accepted");
+        }
         studentService.updateStudent(updatedStudent);
-        return ResponseEntity.ok("Student is updated");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (updatedStudent.getVersion() != null) {
+            response.eTag(StudentETags.eTag(updatedStudent.getVersion() + 1));
+        }
+        return response.body("Student is updated");
     }
 
     /**
@@ -111,25 +211,224 @@ public class StudentController {
         return ResponseEntity.status(HttpStatus.ACCEPTED).body("Student is deleted");
     }
 
+    /**
+     * Удаление студентов по списку ИД.
+     *
+     * @param ids ИД студентов
+     * @return сообщение о количестве удаленных студентов
+     */
+    @DeleteMapping
+    public ResponseEntity<String> deleteStudents(@RequestBody List<Integer> ids) {
+        int deleted = studentService.deleteStudentsByIds(ids);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body("Students are deleted: " + deleted);
+    }
+
     /**
      * Получение студента по ИД.
+     * Ответ содержит ETag с версией студента. Если переданный в If-None-Match ETag совпадает с текущим,
+     * возвращается 304 без тела; для проверки читается только версия студента.
+     * С параметром fields возвращаются только перечисленные поля (и ИД).
      *
-     * @param id ИД студента
+     * @param id      ИД студента
+     * @param fields  поля ответа через запятую
+     * @param headers заголовки запроса
      * @return студент
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Student> getStudent(@PathVariable Integer id) {
-        return ResponseEntity.ok(studentService.getStudentById(id));
+    public ResponseEntity<?> getStudent(@PathVariable Integer id, @RequestParam(required = false) String fields,
+                                        @RequestHeader HttpHeaders headers) {
+        String notModifiedETag = studentETags.notModifiedETag(id, headers);
+        if (notModifiedETag != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(notModifiedETag).build();
+        }
+        Student student = studentService.getStudentById(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(StudentETags.eTag(student.getVersion()));
+        return fields != null ? response.body(StudentView.of(student, StudentField.parse(fields)))
+                : response.body(student);
     }
 
     /**
      * Получение всех студентов.
+     * Готовый JSON из {@link StudentListingSnapshot} пишется прямо в ответ (сжатый, если клиент принимает gzip).
+     * Без актуального снимка студенты читаются из БД курсором и пишутся в ответ по мере чтения, не накапливаясь
+     * в памяти. С параметром fields снимок не используется, из БД читаются только перечисленные поля.
+     * По заголовку Accept список выдается в JSON, CBOR или Smile; снимок используется только для JSON.
      *
-     * @return список всех студентов
+     * @param fields         поля ответа через запятую
+     * @param accept         принимаемые клиентом типы содержимого
+     * @param acceptEncoding принимаемые клиентом кодировки ответа
+     * @param response       объект ответа
+     * @return список всех студентов или {@code null}, если ответ записан из снимка
+     * @throws IOException ошибка записи ответа
      */
     @GetMapping
-    public ResponseEntity<List<Student>> getAllStudents() {
-        return ResponseEntity.ok(studentService.getAllStudents());
+    public ResponseEntity<StreamingResponseBody> getAllStudents(
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        MediaType mediaType = streamMediaType(accept);
+        if (fields != null) {
+            Set<StudentField> studentFields = StudentField.parse(fields);
+            Consumer<Consumer<StudentView>> forEach = action -> studentService.forEachStudentView(studentFields, action);
+            return streamResponse(mediaType, streamArray(studentViewStreamWriters.get(mediaType), forEach));
+        }
+        StudentListingSnapshot.Snapshot snapshot = MediaType.APPLICATION_JSON.equals(mediaType)
+                ? studentListingSnapshot.current() : null;
+        if (snapshot != null) {
+            byte[] body = snapshot.getJson();
+            if (snapshot.getGzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                body = snapshot.getGzip();
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+            return null;
+        }
+        return streamResponse(mediaType, streamArray(studentStreamWriters.get(mediaType),
+                studentService::forEachStudent));
+    }
+
+    /**
+     * Получение студентов по списку ИД. Параметр limit вместе с ids не учитывается.
+     *
+     * @param ids    ИД студентов
+     * @param fields поля ответа через запятую
+     * @return найденные студенты
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<?>> getStudentsByIds(@RequestParam List<Integer> ids,
+                                                    @RequestParam(required = false) String fields) {
+        List<Student> students = studentService.getStudentsByIds(ids);
+        return ResponseEntity.ok(fields != null ? views(students, StudentField.parse(fields)) : students);
+    }
+
+    /**
+     * Получение страницы студентов (keyset-пагинация по ИД).
+     * При актуальном {@link StudentListingSnapshot} страница вырезается из готового JSON.
+     * С параметром fields из БД читаются только перечисленные поля. Снимок используется только для ответа в JSON.
+     *
+     * @param after  ИД последнего студента предыдущей страницы
+     * @param limit  размер страницы
+     * @param fields поля ответа через запятую
+     * @param accept принимаемые клиентом типы содержимого
+     * @return страница студентов
+     */
+    @GetMapping(params = {"limit", "!ids"})
+    public ResponseEntity<?> getStudentsPage(@RequestParam(required = false) Integer after,
+                                             @RequestParam int limit,
+                                             @RequestParam(required = false) String fields,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (fields != null) {
+            List<StudentView> views = studentService.getStudentViewsPage(after, pageSize, StudentField.parse(fields));
+            Integer nextAfter = views.size() == pageSize ? views.get(views.size() - 1).getId() : null;
+            return ResponseEntity.ok(new StudentViewPage(views, nextAfter));
+        }
+        StudentListingSnapshot.Snapshot snapshot = MediaType.APPLICATION_JSON.equals(streamMediaType(accept))
+                ? studentListingSnapshot.current() : null;
+        if (snapshot != null) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(snapshot.page(after, pageSize));
+        }
+        List<Student> students = studentService.getStudentsPage(after, pageSize);
+        Integer nextAfter = students.size() == pageSize ? students.get(students.size() - 1).getId() : null;
+        return ResponseEntity.ok(new StudentPage(students, nextAfter));
+    }
+
+    /**
+     * Поиск студентов по имени, фамилии, e-mail и логину.
+     * Результаты упорядочены по релевантности: точное совпадение слова, префикс, подстрока, совпадение с опечатками.
+     *
+     * @param q      строка поиска
+     * @param offset количество пропускаемых результатов
+     * @param limit  размер страницы
+     * @param fields поля ответа через запятую
+     * @return страница найденных студентов
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchStudents(@RequestParam String q,
+                                            @RequestParam(defaultValue = "0") int offset,
+                                            @RequestParam(defaultValue = "20") int limit,
+                                            @RequestParam(required = false) String fields) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        StudentSearchPage page = studentService.searchStudents(q, Math.max(0, offset), pageSize);
+        if (fields != null) {
+            return ResponseEntity.ok(new StudentViewSearchPage(views(page.getItems(), StudentField.parse(fields)),
+                    page.getTotal(), page.getNextOffset()));
+        }
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Представления студентов с выбранными полями.
+     *
+     * @param students студенты
+     * @param fields   поля представления
+     * @return представления студентов
+     */
+    private static List<StudentView> views(List<Student> students, Set<StudentField> fields) {
+        return students.stream().map(student -> StudentView.of(student, fields)).collect(Collectors.toList());
+    }
+
+    /**
+     * Тип содержимого потоковой выдачи по заголовку Accept: первый по предпочтению клиента из JSON, CBOR и Smile.
+     * Без заголовка или без подходящего типа выдается JSON.
+     *
+     * @param accept принимаемые клиентом типы содержимого
+     * @return тип содержимого
+     */
+    private MediaType streamMediaType(String accept) {
+        if (accept == null) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptedTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(acceptedTypes);
+        for (MediaType acceptedType : acceptedTypes) {
+            for (MediaType mediaType : studentStreamWriters.keySet()) {
+                if (acceptedType.isCompatibleWith(mediaType) && acceptedType.getQualityValue() > 0) {
+                    return mediaType;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Ответ потоковой выдачи, зависящий от заголовка Accept.
+     *
+     * @param mediaType тип содержимого
+     * @param body      тело ответа
+     * @return ответ
+     */
+    private static ResponseEntity<StreamingResponseBody> streamResponse(MediaType mediaType,
+                                                                        StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(mediaType).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(body);
+    }
+
+    /**
+     * Потоковая выдача массива: элементы пишутся в ответ по мере обхода, не накапливаясь в памяти.
+     *
+     * @param writer  сериализатор элементов в формате ответа
+     * @param forEach обход элементов
+     * @param <T>     тип элементов
+     * @return тело ответа
+     */
+    private static <T> StreamingResponseBody streamArray(ObjectWriter writer, Consumer<Consumer<T>> forEach) {
+        return outputStream -> {
+            try (JsonGenerator generator = writer.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                forEach.accept(element -> {
+                    try {
+                        writer.writeValue(generator, element);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
     }
 
     /**
@@ -172,6 +471,7 @@ public class StudentController {
 
     /**
      * Обработка ошибки передачи студента.
+     * Требует сохранения тела запроса, см. {@code preex.request-body-capture.paths}.
      *
      * @param exception ошибка
      * @param request   объект запроса
@@ -180,7 +480,7 @@ public class StudentController {
      */
     @SuppressWarnings("ThrowableNotThrown")
 //    @ExceptionHandler(ConstraintViolationException.class)
-    public ResponseEntity<String> handleConstraintViolationException(ConstraintViolationException exception, ContentCachingRequestWrapper request, Principal principal) {
+    public ResponseEntity<String> handleConstraintViolationException(ConstraintViolationException exception, CachedBodyRequestWrapper request, Principal principal) {
         try {
             String message = NestedExceptionUtils.getRootCause(exception) != null ?
                     NestedExceptionUtils.getRootCause(exception).getMessage() : exception.getMessage();
@@ -8,24 +8,24 @@ import org.aspectj.lang.annotation.Aspect;
 import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.NestedExceptionUtils;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
 
 /**
  * Обработчик, добавляющий обработку ошибок контроллера.
+ * Регистрируется в {@link com.example.preex.aop.AspectConfiguration}.
  *
  * @author Mikhail Nikiforov
  * @since 2023.01.08
  */
 @Aspect
-@Component
 public class ControllerExceptionAspect {
 
     /**
@@ -36,14 +36,16 @@ public class ControllerExceptionAspect {
     /**
      * Сервис для работы со студентами.
      */
-    private final StudentService studentService;
+    private StudentService studentService;
 
     /**
-     * Конструктор.
+     * Установка сервиса для работы со студентами.
+     * Зависимость внедряется через сеттер, так как при компиляции с ajc экземпляр создает AspectJ.
      *
      * @param studentService сервис для работы со студентами
      */
-    public ControllerExceptionAspect(StudentService studentService) {
+    @Autowired
+    public void setStudentService(StudentService studentService) {
         this.studentService = studentService;
     }
 
@@ -0,0 +1,316 @@
+package com.example.preex.controller.feed;
+
+import com.example.preex.service.event.StudentChange;
+import com.example.preex.service.event.StudentChangeFeed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Подписки на ленту изменений студентов ({@link StudentChangeFeed}) в виде server-sent events.
+ * <p>
+ * Каждый подписчик читает ленту со своей позиции, поэтому изменения не копируются в очереди подписчиков.
+ * У каждого подписчика не больше одной задачи отправки одновременно. Отправка в сервлет блокирующая, поэтому пул
+ * держит {@code preex.student-changes.sender-threads} потоков и добавляет потоки, пока они заняты: клиент, который
+ * перестал читать, блокирует только поток своей отправки. Отставание проверяется при каждом изменении ленты, а не
+ * в потоке отправки: подписчик, отставший больше чем на {@code preex.student-changes.max-lag} изменений,
+ * сразу перестает получать изменения и отключается, как только завершится начатая отправка; при переподключении
+ * с Last-Event-ID он получит пропущенные изменения или событие {@value #RESET_EVENT}, если они уже вытеснены
+ * из ленты или ИД события получен в другом запуске приложения (эпоха не совпадает).
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class StudentChangeSubscriptions implements DisposableBean {
+
+    /**
+     * Событие потери позиции в ленте: клиент должен заново прочитать студентов, id события - текущая позиция.
+     */
+    public static final String RESET_EVENT = "reset";
+
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(StudentChangeSubscriptions.class);
+
+    /**
+     * Максимальное количество изменений, отправляемых подписчику за одно чтение ленты.
+     */
+    private static final int SEND_BATCH_SIZE = 100;
+
+    /**
+     * Лента изменений студентов.
+     */
+    private final StudentChangeFeed feed;
+
+    /**
+     * Максимальное отставание подписчика от ленты.
+     */
+    private final long maxLag;
+
+    /**
+     * Максимальное количество подписчиков.
+     */
+    private final int maxSubscribers;
+
+    /**
+     * Время жизни подписки, мс.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * Потоки отправки изменений.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Подписчики.
+     */
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Количество отключенных медленных подписчиков.
+     */
+    private final Counter evictions;
+
+    /**
+     * Конструктор.
+     *
+     * @param feed           лента изменений студентов
+     * @param maxLag         максимальное отставание подписчика от ленты
+     * @param maxSubscribers максимальное количество подписчиков
+     * @param senderThreads  количество постоянных потоков отправки
+     * @param timeout        время жизни подписки
+     * @param meterRegistry  реестр метрик
+     */
+    public StudentChangeSubscriptions(StudentChangeFeed feed,
+                                      @Value("${preex.student-changes.max-lag:1000}") long maxLag,
+                                      @Value("${preex.student-changes.max-subscribers:100}") int maxSubscribers,
+                                      @Value("${preex.student-changes.sender-threads:2}") int senderThreads,
+                                      @Value("${preex.student-changes.timeout:30m}") Duration timeout,
+                                      MeterRegistry meterRegistry) {
+        this.feed = feed;
+        this.maxLag = maxLag;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Подписчиков не больше maxSubscribers, и у каждого не больше одной отправки; запас - для отправок
+        // отключенных подписчиков, которые еще ждут записи в сокет
+        this.executor = new ThreadPoolExecutor(senderThreads, senderThreads + maxSubscribers, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "student-changes-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictions = meterRegistry.counter("preex.student-changes.evicted");
+        Gauge.builder("preex.student-changes.subscribers", subscribers, Set::size).register(meterRegistry);
+        Gauge.builder("preex.student-changes.sender-threads", executor, ThreadPoolExecutor::getPoolSize)
+                .register(meterRegistry);
+        feed.addListener(this::onChange);
+    }
+
+    /**
+     * Подписка на изменения.
+     *
+     * @param lastEventId ИД последнего полученного события или {@code null}, чтобы получать только новые
+     *                    изменения
+     * @return поток событий
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManySubscribersException(maxSubscribers);
+        }
+        long last = feed.getLastSequence();
+        long after = lastEventId != null ? feed.sequenceOf(lastEventId) : last;
+        // ИД из другого запуска (-1), вытесненный или слишком старый номер - клиент перечитывает студентов
+        boolean resume = after >= 0 && last - after <= maxLag && feed.read(after, 1) != null;
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis), resume ? after : last, !resume);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Отключение отставших подписчиков и планирование отправки остальным. Выполняется в потоке, изменившем ленту,
+     * и не ждет отправки.
+     */
+    private void onChange() {
+        long last = feed.getLastSequence();
+        for (Subscriber subscriber : subscribers) {
+            if (last - subscriber.position > maxLag) {
+                evict(subscriber);
+            } else {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Планирование отправки изменений подписчику, если она еще не запланирована.
+     *
+     * @param subscriber подписчик
+     */
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> send(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Отправка подписчику всех изменений после его позиции.
+     *
+     * @param subscriber подписчик
+     */
+    private void send(Subscriber subscriber) {
+        try {
+            if (subscriber.reset) {
+                subscriber.reset = false;
+                subscriber.emitter.send(SseEmitter.event().id(feed.eventId(subscriber.position))
+                        .name(RESET_EVENT).data(Map.of("sequence", subscriber.position), MediaType.APPLICATION_JSON));
+            }
+            while (true) {
+                if (subscriber.evicted) {
+                    subscriber.emitter.complete();
+                    return;
+                }
+                List<StudentChange> changes = feed.read(subscriber.position, SEND_BATCH_SIZE);
+                if (changes == null) {
+                    evict(subscriber);
+                    subscriber.emitter.complete();
+                    return;
+                }
+                if (changes.isEmpty()) {
+                    subscriber.scheduled.set(false);
+                    // Изменение или отключение могло произойти после чтения, но до снятия признака
+                    if (feed.getLastSequence() == subscriber.position && !subscriber.evicted
+                            || !subscriber.scheduled.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                for (StudentChange change : changes) {
+                    if (subscriber.evicted) {
+                        break;
+                    }
+                    subscriber.emitter.send(SseEmitter.event().id(feed.eventId(change.getSequence()))
+                            .name(change.getType().name().toLowerCase(Locale.ROOT))
+                            .data(change, MediaType.APPLICATION_JSON));
+                    subscriber.position = change.getSequence();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Клиент отключился или подписка завершена по времени
+            subscribers.remove(subscriber);
+            subscriber.scheduled.set(false);
+        }
+    }
+
+    /**
+     * Отключение отставшего подписчика: он больше не получает изменения, поток событий завершается задачей
+     * отправки (после начатой записи, если клиент не читает).
+     *
+     * @param subscriber подписчик
+     */
+    private void evict(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        subscriber.evicted = true;
+        evictions.increment();
+        LOG.debug("Student change subscriber evicted at {}, feed is at {}", subscriber.position,
+                feed.getLastSequence());
+        schedule(subscriber);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * Подписчик.
+     */
+    private static final class Subscriber {
+
+        /**
+         * Поток событий.
+         */
+        final SseEmitter emitter;
+
+        /**
+         * Признак запланированной или выполняемой отправки.
+         */
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * Номер последнего отправленного изменения, изменяется только задачей отправки.
+         */
+        volatile long position;
+
+        /**
+         * Признак необходимости отправить {@value StudentChangeSubscriptions#RESET_EVENT} перед изменениями.
+         */
+        volatile boolean reset;
+
+        /**
+         * Признак отключения за отставание.
+         */
+        volatile boolean evicted;
+
+        /**
+         * Конструктор.
+         *
+         * @param emitter  поток событий
+         * @param position номер последнего отправленного изменения
+         * @param reset    признак необходимости отправить {@value StudentChangeSubscriptions#RESET_EVENT}
+         */
+        Subscriber(SseEmitter emitter, long position, boolean reset) {
+            this.emitter = emitter;
+            this.position = position;
+            this.reset = reset;
+        }
+    }
+
+    /**
+     * Превышено количество подписчиков на изменения.
+     */
+    @ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE)
+    public static class TooManySubscribersException extends RuntimeException {
+        public TooManySubscribersException(int maxSubscribers) {
+            super("Too many student change subscribers: " + maxSubscribers);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.preex.controller.format;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Двоичные форматы тел запросов и ответов наряду с JSON: CBOR ({@code application/cbor}) и Smile
+ * ({@code application/x-jackson-smile}). Формат выбирается по заголовкам Accept и Content-Type.
+ * <p>
+ * Сериализаторы строятся из {@link Jackson2ObjectMapperBuilder} Spring Boot, поэтому настройки
+ * {@code spring.jackson.*} и модули действуют для всех форматов одинаково.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Configuration
+public class BinaryFormatConfiguration {
+
+    /**
+     * Тип содержимого Smile.
+     */
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * Преобразователь тел в CBOR.
+     *
+     * @param builder построитель сериализатора Spring Boot
+     * @return преобразователь
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Преобразователь тел в Smile.
+     *
+     * @param builder построитель сериализатора Spring Boot
+     * @return преобразователь
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
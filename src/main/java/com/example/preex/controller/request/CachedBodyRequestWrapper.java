@@ -0,0 +1,231 @@
+package com.example.preex.controller.request;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Обертка запроса, сохраняющая прочитанное тело запроса в переданный буфер.
+ * Сохраняется не больше размера буфера, остаток тела читается без копирования.
+ * Обертка {@link #replay(HttpServletRequest, byte[])} отдает уже прочитанное тело вместо исходного потока.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+public class CachedBodyRequestWrapper extends HttpServletRequestWrapper {
+
+    /**
+     * Буфер сохраненного тела.
+     */
+    private final byte[] buffer;
+
+    /**
+     * Количество сохраненных байт.
+     */
+    private int length;
+
+    /**
+     * Признак чтения тела из буфера вместо исходного потока.
+     */
+    private final boolean replay;
+
+    /**
+     * Поток тела запроса.
+     */
+    private ServletInputStream inputStream;
+
+    /**
+     * Читатель тела запроса.
+     */
+    private BufferedReader reader;
+
+    /**
+     * Конструктор.
+     *
+     * @param request запрос
+     * @param buffer  буфер сохраненного тела, его размер ограничивает сохраняемую часть тела
+     */
+    public CachedBodyRequestWrapper(HttpServletRequest request, byte[] buffer) {
+        this(request, buffer, 0, false);
+    }
+
+    /**
+     * Конструктор.
+     *
+     * @param request запрос
+     * @param buffer  буфер тела
+     * @param length  количество сохраненных байт
+     * @param replay  признак чтения тела из буфера
+     */
+    private CachedBodyRequestWrapper(HttpServletRequest request, byte[] buffer, int length, boolean replay) {
+        super(request);
+        this.buffer = buffer;
+        this.length = length;
+        this.replay = replay;
+    }
+
+    /**
+     * Обертка запроса, тело которого уже прочитано из исходного потока.
+     *
+     * @param request запрос
+     * @param body    прочитанное тело запроса
+     * @return обертка, отдающая тело из памяти
+     */
+    public static CachedBodyRequestWrapper replay(HttpServletRequest request, byte[] body) {
+        return new CachedBodyRequestWrapper(request, body, body.length, true);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = replay ? new ReplayInputStream() : new CapturingInputStream(getRequest().getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+        return reader;
+    }
+
+    @Override
+    public int getContentLength() {
+        return replay ? length : super.getContentLength();
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return replay ? length : super.getContentLengthLong();
+    }
+
+    /**
+     * Получение сохраненной части тела запроса.
+     *
+     * @return копия прочитанного тела запроса
+     */
+    public byte[] getContentAsByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Поток тела запроса, копирующий прочитанные байты в буфер.
+     */
+    private class CapturingInputStream extends ServletInputStream {
+
+        /**
+         * Исходный поток тела запроса.
+         */
+        private final ServletInputStream delegate;
+
+        /**
+         * Конструктор.
+         *
+         * @param delegate исходный поток тела запроса
+         */
+        private CapturingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1 && length < buffer.length) {
+                buffer[length++] = (byte) b;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = delegate.read(b, off, len);
+            if (count > 0 && length < buffer.length) {
+                int captured = Math.min(count, buffer.length - length);
+                System.arraycopy(b, off, buffer, length, captured);
+                length += captured;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+
+    /**
+     * Поток тела запроса из буфера.
+     */
+    private class ReplayInputStream extends ServletInputStream {
+
+        /**
+         * Позиция чтения в буфере.
+         */
+        private int position;
+
+        @Override
+        public int read() {
+            return position < length ? buffer[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position == length) {
+                return -1;
+            }
+            int count = Math.min(len, length - position);
+            System.arraycopy(buffer, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return position == length;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            // Тело уже в памяти: данные доступны сразу, без ожидания контейнера
+            try {
+                if (!isFinished()) {
+                    readListener.onDataAvailable();
+                }
+                if (isFinished()) {
+                    readListener.onAllDataRead();
+                }
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.preex.controller.request;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Фильтр повторных запросов с заголовком {@value #IDEMPOTENCY_KEY_HEADER}.
+ * <p>
+ * Первый ответ на запрос с ключом сохраняется (кроме ответов 5xx) и отдается на повторы того же запроса без
+ * обращения к контроллеру и БД, с заголовком {@value #REPLAYED_HEADER}. Ключ действует в пределах пользователя
+ * (или адреса клиента), метода и пути. Повтор, пришедший до завершения первого запроса, ждет его ответ не дольше
+ * {@code preex.idempotency.wait-timeout}, затем получает 409. Повтор ключа с другим телом запроса - 422.
+ * Ответы хранятся в ограниченном по размеру и времени жизни кэше.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    /**
+     * Заголовок ключа повторяемого запроса.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Заголовок ответа, отданного из сохраненного.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Максимальная длина ключа.
+     */
+    private static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Заголовки ответа, не сохраняемые для повтора.
+     */
+    private static final Set<String> SKIPPED_HEADERS = Set.of(HttpHeaders.CONTENT_TYPE.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.SET_COOKIE.toLowerCase());
+
+    /**
+     * Сравнение путей по шаблонам.
+     */
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * Шаблоны путей, для которых учитывается ключ.
+     */
+    private final List<String> paths;
+
+    /**
+     * Методы, для которых учитывается ключ.
+     */
+    private final Set<String> methods;
+
+    /**
+     * Максимальный размер тела запроса с ключом.
+     */
+    private final long maxBodySize;
+
+    /**
+     * Максимальное время ожидания ответа на первый запрос, мс.
+     */
+    private final long waitTimeoutMillis;
+
+    /**
+     * Ответы по ключу, незавершенный ответ - первый запрос еще выполняется.
+     */
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+
+    /**
+     * Количество повторов, отданных из сохраненного ответа.
+     */
+    private final Counter replays;
+
+    /**
+     * Конструктор.
+     *
+     * @param paths         шаблоны путей, для которых учитывается ключ
+     * @param methods       методы, для которых учитывается ключ
+     * @param maximumSize   максимальное количество сохраненных ответов
+     * @param ttl           время хранения ответа
+     * @param maxBodySize   максимальный размер тела запроса с ключом
+     * @param waitTimeout   максимальное время ожидания ответа на первый запрос
+     * @param meterRegistry реестр метрик
+     */
+    public IdempotencyFilter(@Value("${preex.idempotency.paths:/api/student,/api/student/*}") List<String> paths,
+                             @Value("${preex.idempotency.methods:POST,PUT}") Set<String> methods,
+                             @Value("${preex.idempotency.maximum-size:10000}") long maximumSize,
+                             @Value("${preex.idempotency.ttl:PT10M}") Duration ttl,
+                             @Value("${preex.idempotency.max-body-size:1MB}") DataSize maxBodySize,
+                             @Value("${preex.idempotency.wait-timeout:PT5S}") Duration waitTimeout,
+                             MeterRegistry meterRegistry) {
+        this.paths = paths;
+        this.methods = methods;
+        this.maxBodySize = maxBodySize.toBytes();
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.replays = meterRegistry.counter("preex.idempotency.replayed");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(IDEMPOTENCY_KEY_HEADER) == null || !methods.contains(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + IDEMPOTENCY_KEY_HEADER);
+            return;
+        }
+        if (request.getContentLengthLong() > maxBodySize) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes((int) maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        String key = (request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : request.getRemoteAddr())
+                + ' ' + request.getMethod() + ' ' + request.getRequestURI() + ' ' + idempotencyKey;
+        byte[] fingerprint = fingerprint(body);
+        while (true) {
+            CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> first = responses.asMap().putIfAbsent(key, pending);
+            if (first == null) {
+                execute(CachedBodyRequestWrapper.replay(request, body), response, filterChain, key, fingerprint, pending);
+                return;
+            }
+            StoredResponse stored;
+            try {
+                stored = first.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                response.sendError(HttpStatus.CONFLICT.value(), "Request with this " + IDEMPOTENCY_KEY_HEADER
+                        + " is in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                // Первый запрос завершился ошибкой и ключ освобожден, выполняем запрос заново
+                continue;
+            }
+            if (stored == null) {
+                continue;
+            }
+            if (!MessageDigest.isEqual(stored.fingerprint, fingerprint)) {
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), IDEMPOTENCY_KEY_HEADER
+                        + " is already used for another request");
+                return;
+            }
+            replay(stored, response);
+            return;
+        }
+    }
+
+    /**
+     * Выполнение первого запроса с ключом и сохранение ответа.
+     *
+     * @param request     запрос
+     * @param response    ответ
+     * @param filterChain цепочка фильтров
+     * @param key         ключ ответа
+     * @param fingerprint отпечаток тела запроса
+     * @param pending     ответ, ожидаемый повторами
+     */
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String key, byte[] fingerprint, CompletableFuture<StoredResponse> pending)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (!request.isAsyncStarted() && responseWrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                Map<String, List<String>> headers = new LinkedHashMap<>();
+                for (String name : responseWrapper.getHeaderNames()) {
+                    if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                        headers.put(name, List.copyOf(responseWrapper.getHeaders(name)));
+                    }
+                }
+                stored = new StoredResponse(fingerprint, responseWrapper.getStatus(), responseWrapper.getContentType(),
+                        headers, responseWrapper.getContentAsByteArray());
+            }
+        } finally {
+            if (stored == null) {
+                responses.asMap().remove(key, pending);
+            }
+            pending.complete(stored);
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Отдача сохраненного ответа.
+     *
+     * @param stored   сохраненный ответ
+     * @param response ответ
+     */
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        replays.increment();
+        if (stored.status >= HttpStatus.BAD_REQUEST.value() && stored.body.length == 0) {
+            // Ошибка без тела (sendError): тело формирует страница ошибки, как и для первого запроса
+            response.setHeader(REPLAYED_HEADER, "true");
+            response.sendError(stored.status);
+            return;
+        }
+        response.setStatus(stored.status);
+        stored.headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType != null) {
+            response.setContentType(stored.contentType);
+        }
+        response.setContentLength(stored.body.length);
+        response.getOutputStream().write(stored.body);
+    }
+
+    /**
+     * Отпечаток тела запроса.
+     *
+     * @param body тело запроса
+     * @return SHA-256 тела
+     */
+    private static byte[] fingerprint(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Сохраненный ответ.
+     */
+    @AllArgsConstructor
+    private static final class StoredResponse {
+
+        /**
+         * Отпечаток тела запроса.
+         */
+        private final byte[] fingerprint;
+
+        /**
+         * Код ответа.
+         */
+        private final int status;
+
+        /**
+         * Тип содержимого.
+         */
+        private final String contentType;
+
+        /**
+         * Заголовки.
+         */
+        private final Map<String, List<String>> headers;
+
+        /**
+         * Тело.
+         */
+        private final byte[] body;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.preex.controller.request;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.filter.GenericFilterBean;
-import org.springframework.web.util.ContentCachingRequestWrapper;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -10,9 +12,16 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
- * Фильтр, добавляющий тело в ответ.
+ * Фильтр, сохраняющий тело запроса для обработчиков ошибок.
+ * <p>
+ * Тело сохраняется только для настроенных путей и методов и никогда для GET и DELETE.
+ * Сохраняется не больше заданного размера, буферы переиспользуются между запросами.
  *
  * @author Mikhail Nikiforov
  * @since 2023.12.17
@@ -20,10 +29,93 @@ import java.io.IOException;
 @Component
 public class RequestFilter extends GenericFilterBean {
 
+    /**
+     * Методы, тело которых никогда не сохраняется.
+     */
+    private static final Set<String> SKIPPED_METHODS = Set.of("GET", "DELETE", "HEAD", "OPTIONS");
+
+    /**
+     * Сравнение путей по шаблонам.
+     */
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * Шаблоны путей, для которых сохраняется тело.
+     */
+    private final List<String> paths;
+
+    /**
+     * Методы, для которых сохраняется тело.
+     */
+    private final Set<String> methods;
+
+    /**
+     * Максимальный сохраняемый размер тела.
+     */
+    private final int maxSize;
+
+    /**
+     * Свободные буферы для сохранения тела.
+     */
+    private final BlockingQueue<byte[]> buffers;
+
+    /**
+     * Конструктор.
+     *
+     * @param paths    шаблоны путей, для которых сохраняется тело
+     * @param methods  методы, для которых сохраняется тело
+     * @param maxSize  максимальный сохраняемый размер тела
+     * @param poolSize количество переиспользуемых буферов
+     */
+    public RequestFilter(@Value("${preex.request-body-capture.paths:}") List<String> paths,
+                         @Value("${preex.request-body-capture.methods:POST,PUT}") Set<String> methods,
+                         @Value("${preex.request-body-capture.max-size:8KB}") DataSize maxSize,
+                         @Value("${preex.request-body-capture.pool-size:64}") int poolSize) {
+        this.paths = paths;
+        this.methods = methods;
+        this.maxSize = (int) maxSize.toBytes();
+        this.buffers = new ArrayBlockingQueue<>(poolSize);
+    }
+
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
         HttpServletRequest request = (HttpServletRequest) servletRequest;
-        ContentCachingRequestWrapper wrapper = new ContentCachingRequestWrapper(request);
-        filterChain.doFilter(wrapper, servletResponse);
+        if (!isCaptured(request)) {
+            filterChain.doFilter(request, servletResponse);
+            return;
+        }
+
+        byte[] buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new byte[maxSize];
+        }
+        try {
+            filterChain.doFilter(new CachedBodyRequestWrapper(request, buffer), servletResponse);
+        } finally {
+            // При асинхронной обработке буфер может еще читаться, поэтому в пул не возвращается
+            if (!request.isAsyncStarted()) {
+                buffers.offer(buffer);
+            }
+        }
+    }
+
+    /**
+     * Проверка, нужно ли сохранять тело запроса.
+     *
+     * @param request запрос
+     * @return {@code true}, если тело нужно сохранить
+     */
+    private boolean isCaptured(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (SKIPPED_METHODS.contains(method) || !methods.contains(method)) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : paths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
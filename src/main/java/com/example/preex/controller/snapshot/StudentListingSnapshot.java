@@ -0,0 +1,431 @@
+package com.example.preex.controller.snapshot;
+
+import com.example.preex.model.Student;
+import com.example.preex.model.StudentPage;
+import com.example.preex.repository.routing.ReadReplicaRoutingDataSource;
+import com.example.preex.service.StudentService;
+import com.example.preex.service.event.StudentChangedEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Снимок списка всех студентов в виде готового JSON.
+ * <p>
+ * Список и страницы отдаются из снимка без запроса к БД и без сериализации: страница - это отрезок байтов массива
+ * студентов. После изменения студентов через сервис ({@link StudentChangedEvent}) снимок пересобирается в фоне
+ * не чаще, чем раз в {@code preex.student-snapshot.rebuild-delay}. Пока пересборка не завершена, снимок отдается
+ * не дольше {@code preex.student-snapshot.max-staleness} с момента первого не вошедшего в него изменения, затем
+ * {@link #current()} возвращает {@code null} и ответ строится из БД. Изменения в БД в обход сервиса в снимок
+ * не попадают до следующего изменения через сервис.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class StudentListingSnapshot implements DisposableBean {
+
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(StudentListingSnapshot.class);
+
+    /**
+     * Признак актуального снимка в {@link #staleSince}.
+     */
+    private static final long NOT_STALE = Long.MIN_VALUE;
+
+    /**
+     * Начало страницы, поля соответствуют {@link StudentPage}.
+     */
+    private static final byte[] PAGE_START = "{\"items\":[".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Сервис для работы со студентами.
+     */
+    private final StudentService studentService;
+
+    /**
+     * Сериализатор.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Сериализатор студентов, совпадающий с потоковой выдачей контроллера.
+     */
+    private final ObjectWriter studentWriter;
+
+    /**
+     * Признак использования снимка.
+     */
+    private final boolean enabled;
+
+    /**
+     * Максимальное время отдачи устаревшего снимка, нс.
+     */
+    private final long maxStalenessNanos;
+
+    /**
+     * Задержка пересборки после изменения для объединения соседних изменений, нс.
+     */
+    private final long rebuildDelayNanos;
+
+    /**
+     * Максимальный размер снимка в байтах, при превышении список отдается из БД.
+     */
+    private final long maxSize;
+
+    /**
+     * Признак хранения сжатой копии списка.
+     */
+    private final boolean gzip;
+
+    /**
+     * Поток пересборки.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Признак запланированной пересборки.
+     */
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    /**
+     * Время пересборки.
+     */
+    private final Timer rebuildTimer;
+
+    /**
+     * Текущий снимок или {@code null}, если снимка нет.
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Время первого изменения, не вошедшего в снимок, по {@link System#nanoTime()}, или {@link #NOT_STALE}.
+     */
+    private volatile long staleSince = NOT_STALE;
+
+    /**
+     * Номер последнего изменения.
+     */
+    private long version;
+
+    /**
+     * Конструктор.
+     *
+     * @param studentService сервис для работы со студентами
+     * @param objectMapper   сериализатор
+     * @param enabled        признак использования снимка
+     * @param maxStaleness   максимальное время отдачи устаревшего снимка
+     * @param rebuildDelay   задержка пересборки после изменения
+     * @param maxSize        максимальный размер снимка
+     * @param gzip           признак хранения сжатой копии списка
+     * @param meterRegistry  реестр метрик
+     */
+    public StudentListingSnapshot(StudentService studentService, ObjectMapper objectMapper,
+                                  @Value("${preex.student-snapshot.enabled:true}") boolean enabled,
+                                  @Value("${preex.student-snapshot.max-staleness:1s}") Duration maxStaleness,
+                                  @Value("${preex.student-snapshot.rebuild-delay:200ms}") Duration rebuildDelay,
+                                  @Value("${preex.student-snapshot.max-size:64MB}") DataSize maxSize,
+                                  @Value("${preex.student-snapshot.gzip:true}") boolean gzip,
+                                  MeterRegistry meterRegistry) {
+        this.studentService = studentService;
+        this.objectMapper = objectMapper;
+        this.studentWriter = objectMapper.writerFor(Student.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.enabled = enabled;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.rebuildDelayNanos = rebuildDelay.toNanos();
+        this.maxSize = maxSize.toBytes();
+        this.gzip = gzip;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rebuildTimer = meterRegistry.timer("preex.student-snapshot.rebuild");
+        Gauge.builder("preex.student-snapshot.size", this, StudentListingSnapshot::size)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Актуальный снимок.
+     *
+     * @return снимок или {@code null}, если снимка нет или он устарел дольше допустимого
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        long since = staleSince;
+        if (current == null || since != NOT_STALE && System.nanoTime() - since > maxStalenessNanos) {
+            return null;
+        }
+        return current;
+    }
+
+    /**
+     * Размер текущего снимка.
+     *
+     * @return размер JSON массива в байтах
+     */
+    private double size() {
+        Snapshot current = snapshot;
+        return current != null ? current.json.length : 0;
+    }
+
+    /**
+     * Построение первого снимка после запуска приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            scheduleRebuild(0);
+        }
+    }
+
+    /**
+     * Пометка снимка устаревшим и планирование пересборки.
+     *
+     * @param event событие изменения студентов
+     */
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            version++;
+            if (staleSince == NOT_STALE) {
+                staleSince = System.nanoTime();
+            }
+        }
+        scheduleRebuild(rebuildDelayNanos);
+    }
+
+    /**
+     * Планирование пересборки, если она еще не запланирована.
+     *
+     * @param delayNanos задержка, нс
+     */
+    private void scheduleRebuild(long delayNanos) {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                // Изменения во время пересборки запланируют следующую
+                rebuildScheduled.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    LOG.warn("Student listing snapshot rebuild failed", e);
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Пересборка снимка.
+     * Номер изменения запоминается до чтения БД, поэтому снимок считается актуальным, только если после этого
+     * изменений не было.
+     */
+    public void rebuild() {
+        long builtVersion;
+        synchronized (this) {
+            builtVersion = version;
+        }
+        // Снимок строится после изменений и должен их включать, поэтому читается основная БД, а не реплика
+        Snapshot built = rebuildTimer.record(() -> ReadReplicaRoutingDataSource.onPrimary(this::build));
+        synchronized (this) {
+            snapshot = built;
+            if (version == builtVersion) {
+                staleSince = NOT_STALE;
+            }
+        }
+    }
+
+    /**
+     * Сериализация всех студентов с запоминанием границ каждого студента в массиве.
+     *
+     * @return снимок или {@code null}, если превышен максимальный размер
+     */
+    private Snapshot build() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IntStream.Builder ids = IntStream.builder();
+        IntStream.Builder starts = IntStream.builder();
+        IntStream.Builder ends = IntStream.builder();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            AtomicBoolean first = new AtomicBoolean(true);
+            studentService.forEachStudent(student -> {
+                try {
+                    // Разделитель пишется перед студентом, в отрезок он не входит
+                    int start = out.size() + generator.getOutputBuffered() + (first.getAndSet(false) ? 0 : 1);
+                    studentWriter.writeValue(generator, student);
+                    int end = out.size() + generator.getOutputBuffered();
+                    if (end > maxSize) {
+                        throw new SnapshotTooLargeException();
+                    }
+                    ids.add(student.getId());
+                    starts.add(start);
+                    ends.add(end);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (SnapshotTooLargeException e) {
+            LOG.warn("Student listing is larger than {} bytes, serving it from the database", maxSize);
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] json = out.toByteArray();
+        return new Snapshot(json, gzip ? compress(json) : null,
+                ids.build().toArray(), starts.build().toArray(), ends.build().toArray());
+    }
+
+    /**
+     * Сжатие списка.
+     *
+     * @param json список
+     * @return сжатый список
+     */
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Снимок списка студентов.
+     */
+    public static final class Snapshot {
+
+        /**
+         * JSON массив студентов, упорядоченных по ИД.
+         */
+        private final byte[] json;
+
+        /**
+         * Сжатый gzip массив или {@code null}.
+         */
+        private final byte[] gzip;
+
+        /**
+         * ИД студентов по порядку.
+         */
+        private final int[] ids;
+
+        /**
+         * Начало каждого студента в массиве.
+         */
+        private final int[] starts;
+
+        /**
+         * Конец каждого студента в массиве (не включительно).
+         */
+        private final int[] ends;
+
+        /**
+         * Конструктор.
+         *
+         * @param json   JSON массив студентов
+         * @param gzip   сжатый массив или {@code null}
+         * @param ids    ИД студентов
+         * @param starts начало каждого студента
+         * @param ends   конец каждого студента
+         */
+        Snapshot(byte[] json, byte[] gzip, int[] ids, int[] starts, int[] ends) {
+            this.json = json;
+            this.gzip = gzip;
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        /**
+         * JSON массив всех студентов. Массив не копируется и не должен изменяться.
+         *
+         * @return JSON массив
+         */
+        public byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * Сжатый JSON массив всех студентов. Массив не копируется и не должен изменяться.
+         *
+         * @return сжатый массив или {@code null}, если сжатие выключено
+         */
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        /**
+         * JSON страницы студентов в формате {@link StudentPage} (keyset-пагинация по ИД).
+         *
+         * @param after ИД последнего студента предыдущей страницы
+         * @param limit размер страницы
+         * @return JSON страницы
+         */
+        public byte[] page(Integer after, int limit) {
+            int from = 0;
+            if (after != null) {
+                int position = Arrays.binarySearch(ids, after);
+                from = position >= 0 ? position + 1 : -position - 1;
+            }
+            int to = Math.min(ids.length, from + limit);
+            Integer nextAfter = to - from == limit ? ids[to - 1] : null;
+            byte[] end = ("],\"nextAfter\":" + nextAfter + "}").getBytes(StandardCharsets.UTF_8);
+            int itemsLength = to > from ? ends[to - 1] - starts[from] : 0;
+            ByteArrayOutputStream out = new ByteArrayOutputStream(PAGE_START.length + itemsLength + end.length);
+            out.writeBytes(PAGE_START);
+            if (itemsLength > 0) {
+                out.write(json, starts[from], itemsLength);
+            }
+            out.writeBytes(end);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Превышен максимальный размер снимка.
+     */
+    private static class SnapshotTooLargeException extends RuntimeException {
+        SnapshotTooLargeException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.preex.controller.version;
+
+import com.example.preex.service.Impl.StudentServiceImpl;
+import com.example.preex.service.StudentService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Разбор заголовков If-Match и If-None-Match по версии студента для синхронного и асинхронного контроллеров.
+ * <p>
+ * ETag студента - его версия в кавычках. If-Match сравнивается строго (слабые ETag не совпадают),
+ * If-None-Match - слабо.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class StudentETags {
+
+    /**
+     * Сервис для работы со студентами.
+     */
+    private final StudentService studentService;
+
+    /**
+     * Конструктор.
+     *
+     * @param studentService сервис для работы со студентами
+     */
+    public StudentETags(StudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    /**
+     * ETag версии студента.
+     *
+     * @param version версия студента
+     * @return ETag
+     */
+    public static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Ожидаемая версия студента по заголовку If-Match.
+     *
+     * @param id      ИД студента
+     * @param headers заголовки запроса
+     * @return ожидаемая версия или {@code null}, если If-Match не передан или равен *
+     * @throws StudentServiceImpl.StudentVersionConflictException если ни один ETag не совпадает с текущей версией
+     */
+    public Long expectedVersion(Integer id, HttpHeaders headers) {
+        List<String> ifMatch = headers.getIfMatch();
+        if (ifMatch.isEmpty() || ifMatch.contains("*")) {
+            return null;
+        }
+        if (ifMatch.size() == 1 && ifMatch.get(0).matches("\"\\d+\"")) {
+            return Long.valueOf(ifMatch.get(0).substring(1, ifMatch.get(0).length() - 1));
+        }
+        // Несколько ETag или слабый ETag: сравнение с текущей версией студента
+        Long version = studentService.getStudentVersion(id);
+        if (!ifMatch.contains(eTag(version))) {
+            throw new StudentServiceImpl.StudentVersionConflictException(id, version);
+        }
+        return version;
+    }
+
+    /**
+     * ETag студента, если он совпадает с переданным в If-None-Match; для проверки читается только версия.
+     *
+     * @param id      ИД студента
+     * @param headers заголовки запроса
+     * @return текущий ETag для ответа 304 или {@code null}, если студент изменился или If-None-Match не передан
+     */
+    public String notModifiedETag(Integer id, HttpHeaders headers) {
+        List<String> ifNoneMatch = headers.getIfNoneMatch();
+        if (ifNoneMatch.isEmpty()) {
+            return null;
+        }
+        String eTag = eTag(studentService.getStudentVersion(id));
+        return ifNoneMatch.stream().anyMatch(tag -> tag.equals("*") || weakETag(tag).equals(eTag)) ? eTag : null;
+    }
+
+    /**
+     * ETag без признака слабого сравнения (для If-None-Match допускается слабое сравнение).
+     *
+     * @param tag ETag
+     * @return ETag без префикса W/
+     */
+    private static String weakETag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.preex.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Режим выполнения запросов на виртуальных потоках, включается свойством {@code preex.execution.virtual-threads}.
+ * <p>
+ * Tomcat выполняет каждый запрос в отдельном виртуальном потоке вместо фиксированного пула, тот же исполнитель
+ * используется для асинхронных ответов Spring MVC (потоковая выдача студентов). Сервис и репозиторий вызываются
+ * в потоке запроса, поэтому тоже выполняются на виртуальных потоках. Количество одновременных обращений к БД
+ * ограничивает {@link com.example.preex.repository.aspect.DatabaseConcurrencyAspect}.
+ * <p>
+ * Виртуальные потоки доступны начиная с Java 21. На более ранних версиях режим не включается, в лог пишется
+ * предупреждение, и запросы выполняются в пуле потоков Tomcat.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Configuration
+@Conditional(VirtualThreadConfiguration.OnVirtualThreadsCondition.class)
+public class VirtualThreadConfiguration {
+
+    /**
+     * Исполнитель, создающий виртуальный поток на каждую задачу.
+     *
+     * @return исполнитель
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() throws ReflectiveOperationException {
+        // Метод появился в Java 21, проект компилируется под Java 17
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+
+    /**
+     * Проверка поддержки виртуальных потоков текущей JVM.
+     *
+     * @return {@code true}, если JVM создает виртуальные потоки (Java 21 и новее)
+     */
+    public static boolean isSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Выполнение запросов Tomcat на виртуальных потоках.
+     *
+     * @param virtualThreadExecutor исполнитель на виртуальных потоках
+     * @return настройка обработчика протокола Tomcat
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    /**
+     * Исполнитель асинхронных запросов Spring MVC на виртуальных потоках.
+     * Заменяет пул, создаваемый {@link TaskExecutionAutoConfiguration}.
+     *
+     * @param virtualThreadExecutor исполнитель на виртуальных потоках
+     * @return исполнитель
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+
+    /**
+     * Условие включения режима: задано свойство и JVM поддерживает виртуальные потоки.
+     */
+    static class OnVirtualThreadsCondition extends SpringBootCondition {
+
+        /**
+         * Логгер.
+         */
+        private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (!context.getEnvironment().getProperty("preex.execution.virtual-threads", Boolean.class, false)) {
+                return ConditionOutcome.noMatch("preex.execution.virtual-threads is not enabled");
+            }
+            if (isSupported()) {
+                return ConditionOutcome.match("virtual threads are supported");
+            }
+            LOG.warn("preex.execution.virtual-threads is enabled, but Java {} has no virtual threads; "
+                    + "requests run on the Tomcat thread pool", Runtime.version().feature());
+            return ConditionOutcome.noMatch("virtual threads require Java 21");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.preex.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обработчик, измеряющий время, количество вызовов и ошибок методов контроллера, сервиса и репозитория студентов.
+ * <p>
+ * Таймеры публикуют перцентили p50, p99 и p999 и доступны в формате Prometheus на {@code /actuator/prometheus}.
+ * Таймеры создаются один раз на метод, поэтому вызов метода не выделяет память под метрики. Ключ - сам метод:
+ * в Spring AOP точка подключения создается заново на каждый вызов и не подходит в качестве ключа.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricsAspect {
+
+    /**
+     * Реестр метрик.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Таймеры успешных и ошибочных вызовов по методу.
+     */
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор.
+     *
+     * @param meterRegistry реестр метрик
+     */
+    public MetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Измеряет вызовы контроллера студентов.
+     *
+     * @param joinPoint точка подключения
+     * @return результат метода
+     */
+    @Around("execution(* com.example.preex.controller.StudentController.*(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("preex.controller", joinPoint);
+    }
+
+    /**
+     * Измеряет вызовы сервиса студентов.
+     *
+     * @param joinPoint точка подключения
+     * @return результат метода
+     */
+    @Around("execution(* com.example.preex.service.StudentService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("preex.service", joinPoint);
+    }
+
+    /**
+     * Измеряет время обращений к БД через репозиторий студентов.
+     *
+     * @param joinPoint точка подключения
+     * @return результат метода
+     */
+    @Around("execution(* com.example.preex.repository.StudentRepository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("preex.repository", joinPoint);
+    }
+
+    /**
+     * Вызов метода с измерением времени.
+     *
+     * @param name      имя метрики
+     * @param joinPoint точка подключения
+     * @return результат метода
+     */
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer[] outcomeTimers = timers.computeIfAbsent(method, key -> new Timer[]{
+                timer(name, key, "success"),
+                timer(name, key, "error")
+        });
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            outcomeTimers[0].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            outcomeTimers[1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Создание таймера метода.
+     *
+     * @param name    имя метрики
+     * @param method  метод
+     * @param outcome исход вызова
+     * @return таймер
+     */
+    private Timer timer(String name, Method method, String outcome) {
+        return Timer.builder(name)
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+    }
+}
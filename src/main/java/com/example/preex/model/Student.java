@@ -13,8 +13,10 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 import java.util.Collection;
 
 /**
@@ -25,7 +27,11 @@ import java.util.Collection;
  */
 @Data
 @Entity
-@Table(name = "student", uniqueConstraints = {@UniqueConstraint(columnNames = "mail", name = "unique_mail")})
+@Table(name = "student",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = "mail", name = "unique_mail"),
+                @UniqueConstraint(columnNames = "username", name = "unique_username")},
+        indexes = {@Index(columnList = "firstname, lastname", name = "student_firstname_lastname_idx")})
 @AllArgsConstructor
 @NoArgsConstructor
 @RequiredArgsConstructor
@@ -51,6 +57,21 @@ public class Student implements UserDetails {
     private String password;
     @Column(name = "account_non_expired")
     private Boolean accountNonExpired = true;
+    /**
+     * Версия студента, увеличивается при каждом изменении. Используется как ETag и для оптимистической блокировки.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Копия студента, не связанная с контекстом персистентности.
+     *
+     * @return копия студента
+     */
+    public Student copy() {
+        return new Student(id, firstname, lastname, mail, username, password, accountNonExpired, version);
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -0,0 +1,54 @@
+package com.example.preex.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат создания одного студента в пакетной операции.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentBatchItemResult {
+
+    /**
+     * Позиция студента в пакете.
+     */
+    private int index;
+
+    /**
+     * ИД созданного студента, {@code null} если студент не создан.
+     */
+    private Integer id;
+
+    /**
+     * Статус создания.
+     */
+    private Status status;
+
+    /**
+     * Статус создания студента.
+     */
+    public enum Status {
+        /**
+         * Студент создан.
+         */
+        CREATED,
+        /**
+         * Студент с таким e-mail уже существует (нарушено ограничение unique_mail).
+         */
+        DUPLICATE_MAIL,
+        /**
+         * Студент с таким логином уже существует (нарушено ограничение unique_username).
+         */
+        DUPLICATE_USERNAME,
+        /**
+         * Не заполнены обязательные поля.
+         */
+        INVALID
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.preex.model;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Поля студента, доступные для выборочного чтения ({@code ?fields=id,mail}) в {@link StudentView}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+public enum StudentField {
+    /**
+     * ИД, возвращается всегда.
+     */
+    ID("id", Student::getId, (view, value) -> view.setId((Integer) value)),
+    /**
+     * Имя.
+     */
+    FIRSTNAME("firstname", Student::getFirstname, (view, value) -> view.setFirstname((String) value)),
+    /**
+     * Фамилия.
+     */
+    LASTNAME("lastname", Student::getLastname, (view, value) -> view.setLastname((String) value)),
+    /**
+     * E-mail.
+     */
+    MAIL("mail", Student::getMail, (view, value) -> view.setMail((String) value)),
+    /**
+     * Логин.
+     */
+    USERNAME("username", Student::getUsername, (view, value) -> view.setUsername((String) value)),
+    /**
+     * Признак действующего аккаунта.
+     */
+    ACCOUNT_NON_EXPIRED("accountNonExpired", Student::getAccountNonExpired,
+            (view, value) -> view.setAccountNonExpired((Boolean) value)),
+    /**
+     * Версия студента.
+     */
+    VERSION("version", Student::getVersion, (view, value) -> view.setVersion((Long) value));
+
+    /**
+     * Имя свойства в сущности и JSON.
+     */
+    private final String property;
+
+    /**
+     * Получение значения из студента.
+     */
+    private final Function<Student, Object> getter;
+
+    /**
+     * Установка значения в представление.
+     */
+    private final BiConsumer<StudentView, Object> setter;
+
+    /**
+     * Конструктор.
+     *
+     * @param property имя свойства в сущности и JSON
+     * @param getter   получение значения из студента
+     * @param setter   установка значения в представление
+     */
+    StudentField(String property, Function<Student, Object> getter, BiConsumer<StudentView, Object> setter) {
+        this.property = property;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Имя свойства в сущности и JSON.
+     *
+     * @return имя свойства
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Значение поля студента.
+     *
+     * @param student студент
+     * @return значение
+     */
+    public Object get(Student student) {
+        return getter.apply(student);
+    }
+
+    /**
+     * Установка значения поля в представление.
+     *
+     * @param view  представление студента
+     * @param value значение
+     */
+    public void set(StudentView view, Object value) {
+        setter.accept(view, value);
+    }
+
+    /**
+     * Разбор списка полей через запятую. ИД входит в результат всегда.
+     *
+     * @param fields список полей, например {@code id,mail}
+     * @return поля в порядке объявления
+     */
+    public static Set<StudentField> parse(String fields) {
+        Set<StudentField> result = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String property = name.trim();
+            if (!property.isEmpty()) {
+                result.add(byProperty(property));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Поле по имени свойства.
+     *
+     * @param property имя свойства
+     * @return поле
+     */
+    private static StudentField byProperty(String property) {
+        for (StudentField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new UnknownStudentFieldException(property);
+    }
+
+    /**
+     * Запрошено неизвестное или недоступное поле студента.
+     */
+    @ResponseStatus(code = HttpStatus.BAD_REQUEST)
+    public static class UnknownStudentFieldException extends RuntimeException {
+        public UnknownStudentFieldException(String property) {
+            super("Unknown student field: " + property);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.preex.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Страница студентов для keyset-пагинации.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentPage {
+
+    /**
+     * Студенты страницы, упорядоченные по ИД.
+     */
+    private List<Student> items;
+
+    /**
+     * ИД для запроса следующей страницы, {@code null} если страница последняя.
+     */
+    private Integer nextAfter;
+}
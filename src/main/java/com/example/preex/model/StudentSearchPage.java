@@ -0,0 +1,34 @@
+package com.example.preex.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Страница результатов поиска студентов.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentSearchPage {
+
+    /**
+     * Найденные студенты в порядке убывания релевантности.
+     */
+    private List<Student> items;
+
+    /**
+     * Общее количество найденных студентов.
+     */
+    private int total;
+
+    /**
+     * Смещение для запроса следующей страницы, {@code null} если страница последняя.
+     */
+    private Integer nextOffset;
+}
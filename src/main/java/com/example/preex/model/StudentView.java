@@ -0,0 +1,69 @@
+package com.example.preex.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Облегченное представление студента для чтения: только запрошенные поля, без пароля и полей
+ * {@link org.springframework.security.core.userdetails.UserDetails}. Не является сущностью JPA.
+ * Незапрошенные поля равны {@code null} и не попадают в JSON.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentView {
+
+    /**
+     * ИД студента.
+     */
+    private Integer id;
+
+    /**
+     * Имя.
+     */
+    private String firstname;
+
+    /**
+     * Фамилия.
+     */
+    private String lastname;
+
+    /**
+     * E-mail.
+     */
+    private String mail;
+
+    /**
+     * Логин.
+     */
+    private String username;
+
+    /**
+     * Признак действующего аккаунта.
+     */
+    private Boolean accountNonExpired;
+
+    /**
+     * Версия студента.
+     */
+    private Long version;
+
+    /**
+     * Представление студента с заданными полями.
+     *
+     * @param student студент
+     * @param fields  поля
+     * @return представление студента
+     */
+    public static StudentView of(Student student, Set<StudentField> fields) {
+        StudentView view = new StudentView();
+        for (StudentField field : fields) {
+            field.set(view, field.get(student));
+        }
+        return view;
+    }
+}
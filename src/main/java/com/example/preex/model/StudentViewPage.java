@@ -0,0 +1,29 @@
+package com.example.preex.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Страница представлений студентов с выбранными полями (keyset-пагинация по ИД), см. {@link StudentPage}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentViewPage {
+
+    /**
+     * Представления студентов страницы, упорядоченные по ИД.
+     */
+    private List<StudentView> items;
+
+    /**
+     * ИД последнего студента страницы для запроса следующей, {@code null} если страница последняя.
+     */
+    private Integer nextAfter;
+}
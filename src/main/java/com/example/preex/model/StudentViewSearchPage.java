@@ -0,0 +1,34 @@
+package com.example.preex.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Страница результатов поиска студентов с выбранными полями, см. {@link StudentSearchPage}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentViewSearchPage {
+
+    /**
+     * Представления найденных студентов в порядке убывания релевантности.
+     */
+    private List<StudentView> items;
+
+    /**
+     * Общее количество найденных студентов.
+     */
+    private int total;
+
+    /**
+     * Смещение для запроса следующей страницы, {@code null} если страница последняя.
+     */
+    private Integer nextOffset;
+}
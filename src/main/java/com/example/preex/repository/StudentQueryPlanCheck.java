@@ -0,0 +1,165 @@
+package com.example.preex.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Проверка планов запросов {@link StudentRepository} при запуске приложения.
+ * <p>
+ * Для каждого запроса выполняется {@code EXPLAIN} с выключенным последовательным сканированием: если подходящий индекс
+ * есть, планировщик его выберет даже на маленькой таблице, а оставшийся {@code Seq Scan} означает, что индекса нет.
+ * Такие запросы пишутся в лог, а при {@code preex.query-plan-check.fail-on-seq-scan=true} запуск прерывается.
+ * <p>
+ * Запросы повторяют условия методов репозитория и должны обновляться вместе с ним. Потоковое чтение всех студентов
+ * ({@link StudentRepository#streamAllOrderById()}) читает всю таблицу намеренно и не проверяется.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+@ConditionalOnProperty(name = "preex.query-plan-check.enabled", matchIfMissing = true)
+public class StudentQueryPlanCheck {
+
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(StudentQueryPlanCheck.class);
+
+    /**
+     * Проверяемые запросы по методам репозитория.
+     */
+    static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("findById, findVersionById, removeById, patch", "select * from student where id = 0");
+        QUERIES.put("findAllById", "select * from student where id in (0, 1)");
+        QUERIES.put("removeAllByIdIn", "select * from student where id = any('{0,1}'::int4[])");
+        QUERIES.put("findByIdGreaterThanOrderByIdAsc", "select * from student where id > 0 order by id limit 100");
+        QUERIES.put("findStudentByFirstname", "select * from student where firstname = ''");
+        QUERIES.put("findStudentByUsername", "select * from student where username = ''");
+        QUERIES.put("findIdByUsername", "select id from student where username = ''");
+    }
+
+    /**
+     * Шаблон JDBC.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Менеджер транзакций.
+     */
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Разбор планов.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Признак прерывания запуска при последовательном сканировании.
+     */
+    private final boolean failOnSeqScan;
+
+    /**
+     * Конструктор.
+     *
+     * @param jdbcTemplate       шаблон JDBC
+     * @param transactionManager менеджер транзакций
+     * @param objectMapper       разбор планов
+     * @param failOnSeqScan      признак прерывания запуска при последовательном сканировании
+     */
+    public StudentQueryPlanCheck(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${preex.query-plan-check.fail-on-seq-scan:false}") boolean failOnSeqScan) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+        this.objectMapper = objectMapper;
+        this.failOnSeqScan = failOnSeqScan;
+    }
+
+    /**
+     * Проверка планов после запуска приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        List<String> seqScans = findSeqScans();
+        if (seqScans.isEmpty()) {
+            LOG.info("Student query plan check passed: {} queries use indexes", QUERIES.size());
+            return;
+        }
+        seqScans.forEach(method -> LOG.warn("StudentRepository#{} does a sequential scan on student: {}",
+                method, QUERIES.get(method)));
+        if (failOnSeqScan) {
+            throw new IllegalStateException("StudentRepository queries without index: " + seqScans);
+        }
+    }
+
+    /**
+     * Поиск запросов с последовательным сканированием таблицы студентов.
+     *
+     * @return методы репозитория, запросы которых сканируют таблицу
+     */
+    List<String> findSeqScans() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            List<String> seqScans = new ArrayList<>();
+            QUERIES.forEach((method, sql) -> {
+                String plan = jdbcTemplate.queryForObject("explain (format json) " + sql, String.class);
+                if (hasSeqScan(readPlan(plan).path(0).path("Plan"))) {
+                    seqScans.add(method);
+                }
+            });
+            return seqScans;
+        });
+    }
+
+    /**
+     * Разбор плана в формате JSON.
+     *
+     * @param plan план
+     * @return дерево плана
+     */
+    private JsonNode readPlan(String plan) {
+        try {
+            return objectMapper.readTree(plan);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot parse query plan: " + plan, e);
+        }
+    }
+
+    /**
+     * Поиск последовательного сканирования таблицы студентов в узле плана и его потомках.
+     *
+     * @param node узел плана
+     * @return {@code true}, если таблица сканируется последовательно
+     */
+    private static boolean hasSeqScan(JsonNode node) {
+        if ("Seq Scan".equals(node.path("Node Type").asText()) && "student".equals(node.path("Relation Name").asText())) {
+            return true;
+        }
+        for (JsonNode child : node.path("Plans")) {
+            if (hasSeqScan(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
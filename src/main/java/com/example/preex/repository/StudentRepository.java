@@ -1,8 +1,21 @@
 package com.example.preex.repository;
 
 import com.example.preex.model.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * Репозиторий студентов.
@@ -11,9 +24,59 @@ import org.springframework.stereotype.Repository;
  * @since 2023.12.17
  */
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Integer> {
+public interface StudentRepository extends JpaRepository<Student, Integer>, StudentRepositoryCustom {
 
     Student findStudentByFirstname(String firstname);
 
     Student findStudentByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Получение ИД студента по логину.
+     *
+     * @param username логин студента
+     * @return ИД студента или {@code null}, если студента нет
+     */
+    @Transactional(readOnly = true)
+    @Query("select s.id from Student s where s.username = :username")
+    Integer findIdByUsername(@Param("username") String username);
+
+    /**
+     * Получение версии студента без загрузки остальных полей.
+     *
+     * @param id ИД студента
+     * @return версия студента или {@code null}, если студента нет
+     */
+    @Query("select s.version from Student s where s.id = :id")
+    Long findVersionById(@Param("id") Integer id);
+
+    /**
+     * Удаление студента одним запросом, без предварительной загрузки.
+     *
+     * @param id ИД студента
+     * @return количество удаленных строк
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Student s where s.id = :id")
+    int removeById(@Param("id") Integer id);
+
+    /**
+     * Получение страницы студентов с ИД больше заданного (keyset-пагинация).
+     *
+     * @param id       ИД, после которого начинается страница
+     * @param pageable размер страницы
+     * @return студенты, упорядоченные по ИД
+     */
+    List<Student> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    /**
+     * Потоковое чтение всех студентов, упорядоченных по ИД.
+     * Строки читаются курсором порциями по размеру выборки, поэтому вызывать нужно внутри транзакции
+     * и закрывать поток после использования.
+     *
+     * @return поток студентов
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select s from Student s order by s.id")
+    Stream<Student> streamAllOrderById();
+}
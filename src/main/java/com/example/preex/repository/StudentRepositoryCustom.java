@@ -0,0 +1,68 @@
+package com.example.preex.repository;
+
+import com.example.preex.model.Student;
+import com.example.preex.model.StudentBatchItemResult;
+import com.example.preex.model.StudentField;
+import com.example.preex.model.StudentView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Операции репозитория студентов, реализованные напрямую через JDBC.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+public interface StudentRepositoryCustom {
+
+    /**
+     * Пакетное создание студентов.
+     * Ошибка одного студента (например, дубликат e-mail) не прерывает создание остальных.
+     *
+     * @param students студенты
+     * @return результаты создания в порядке передачи студентов
+     */
+    List<StudentBatchItemResult> insertAll(List<Student> students);
+
+    /**
+     * Частичное обновление студента одним запросом.
+     * Обновляются только заполненные поля; при смене пароля строка обновляется только у действующего аккаунта.
+     * Версия студента увеличивается; если в изменениях указана версия, строка обновляется только при совпадении.
+     *
+     * @param patch изменения студента, ИД обязателен
+     * @return количество обновленных строк
+     */
+    int patch(Student patch);
+
+    /**
+     * Удаление студентов одним запросом. ИД передаются одним параметром-массивом, поэтому размер списка
+     * не ограничен количеством параметров запроса.
+     *
+     * @param ids ИД студентов
+     * @return ИД удаленных студентов
+     */
+    List<Integer> removeAllByIdIn(Collection<Integer> ids);
+
+    /**
+     * Получение страницы представлений студентов с ИД больше заданного (keyset-пагинация).
+     * Читаются только колонки выбранных полей, сущности не создаются.
+     *
+     * @param id     ИД, после которого начинается страница
+     * @param limit  размер страницы
+     * @param fields поля представления
+     * @return представления студентов, упорядоченные по ИД
+     */
+    List<StudentView> findViewsByIdGreaterThan(int id, int limit, Set<StudentField> fields);
+
+    /**
+     * Потоковое чтение представлений всех студентов, упорядоченных по ИД.
+     * Читаются только колонки выбранных полей. Вызывать в транзакции и закрывать поток после использования.
+     *
+     * @param fields поля представления
+     * @return поток представлений студентов
+     */
+    Stream<StudentView> streamViewsOrderById(Set<StudentField> fields);
+}
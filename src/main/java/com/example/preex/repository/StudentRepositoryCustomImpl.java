@@ -0,0 +1,273 @@
+package com.example.preex.repository;
+
+import com.example.preex.model.Student;
+import com.example.preex.model.StudentBatchItemResult;
+import com.example.preex.model.StudentField;
+import com.example.preex.model.StudentView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.preex.model.StudentBatchItemResult.Status.CREATED;
+import static com.example.preex.model.StudentBatchItemResult.Status.DUPLICATE_MAIL;
+import static com.example.preex.model.StudentBatchItemResult.Status.DUPLICATE_USERNAME;
+import static com.example.preex.model.StudentBatchItemResult.Status.INVALID;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+/**
+ * Реализация JDBC-операций репозитория студентов.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+public class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+
+    /**
+     * Размер JDBC-пакета вставки.
+     */
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * Выделение пачки ИД из последовательности за один запрос.
+     */
+    private static final String NEXT_IDS_SQL = "select nextval('hibernate_sequence') from generate_series(1, ?)";
+
+    /**
+     * Вставка студента; дубликат e-mail или логина не вставляется и не прерывает транзакцию.
+     */
+    private static final String INSERT_SQL = "insert into student "
+            + "(id, firstname, lastname, mail, username, password, account_non_expired, version) "
+            + "values (?, ?, ?, ?, ?, ?, ?, 0) on conflict do nothing";
+
+    /**
+     * Поиск занятых e-mail среди не вставленных студентов.
+     */
+    private static final String EXISTING_MAILS_SQL = "select mail from student where mail = any(?)";
+
+    /**
+     * Удаление студентов по массиву ИД.
+     */
+    private static final String DELETE_SQL = "delete from student where id = any(?) returning id";
+
+    /**
+     * Шаблон JDBC.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Менеджер сущностей.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Конструктор.
+     *
+     * @param jdbcTemplate  шаблон JDBC
+     * @param entityManager менеджер сущностей
+     */
+    public StudentRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public List<StudentBatchItemResult> insertAll(List<Student> students) {
+        StudentBatchItemResult[] results = new StudentBatchItemResult[students.size()];
+        List<Integer> validIndexes = new ArrayList<>(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            if (isValid(students.get(i))) {
+                validIndexes.add(i);
+            } else {
+                results[i] = new StudentBatchItemResult(i, null, INVALID);
+            }
+        }
+
+        if (!validIndexes.isEmpty()) {
+            List<Integer> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Integer.class, validIndexes.size());
+            List<Student> batch = new ArrayList<>(validIndexes.size());
+            for (int i = 0; i < validIndexes.size(); i++) {
+                Student student = students.get(validIndexes.get(i));
+                student.setId(ids.get(i));
+                batch.add(student);
+            }
+
+            int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, batch, BATCH_SIZE, (ps, student) -> {
+                ps.setInt(1, student.getId());
+                ps.setString(2, student.getFirstname());
+                ps.setString(3, student.getLastname());
+                ps.setString(4, student.getMail());
+                ps.setString(5, student.getUsername());
+                ps.setString(6, student.getPassword());
+                ps.setBoolean(7, student.getAccountNonExpired() == null || student.getAccountNonExpired());
+            });
+
+            int[] flatCounts = Arrays.stream(counts).flatMapToInt(Arrays::stream).toArray();
+            Set<String> existingMails = findExistingMails(batch, flatCounts);
+            for (int i = 0; i < validIndexes.size(); i++) {
+                int index = validIndexes.get(i);
+                Student student = students.get(index);
+                if (flatCounts[i] == 0) {
+                    student.setId(null);
+                    results[index] = new StudentBatchItemResult(index, null,
+                            existingMails.contains(student.getMail()) ? DUPLICATE_MAIL : DUPLICATE_USERNAME);
+                } else {
+                    student.setVersion(0L);
+                    results[index] = new StudentBatchItemResult(index, student.getId(), CREATED);
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    public int patch(Student patch) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (patch.getPassword() != null) {
+            values.put("password", patch.getPassword());
+        }
+        if (patch.getFirstname() != null) {
+            values.put("firstname", patch.getFirstname());
+        }
+        if (patch.getLastname() != null) {
+            values.put("lastname", patch.getLastname());
+        }
+        if (patch.getMail() != null) {
+            values.put("mail", patch.getMail());
+        }
+        String versionCondition = patch.getVersion() != null ? " and s.version = :version" : "";
+        if (values.isEmpty()) {
+            TypedQuery<Long> query = entityManager.createQuery(
+                            "select count(s) from Student s where s.id = :id" + versionCondition, Long.class)
+                    .setParameter("id", patch.getId());
+            if (patch.getVersion() != null) {
+                query.setParameter("version", patch.getVersion());
+            }
+            return query.getSingleResult().intValue();
+        }
+
+        StringJoiner assignments = new StringJoiner(", ");
+        values.keySet().forEach(field -> assignments.add("s." + field + " = :" + field));
+        assignments.add("s.version = s.version + 1");
+        String jpql = "update Student s set " + assignments + " where s.id = :id" + versionCondition
+                + (patch.getPassword() != null ? " and s.accountNonExpired = true" : "");
+        Query query = entityManager.createQuery(jpql).setParameter("id", patch.getId());
+        if (patch.getVersion() != null) {
+            query.setParameter("version", patch.getVersion());
+        }
+        values.forEach(query::setParameter);
+        return query.executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public List<Integer> removeAllByIdIn(Collection<Integer> ids) {
+        return jdbcTemplate.query(DELETE_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("int4", ids.toArray())),
+                (rs, rowNum) -> rs.getInt(1));
+    }
+
+    @Override
+    public List<StudentView> findViewsByIdGreaterThan(int id, int limit, Set<StudentField> fields) {
+        List<StudentField> columns = List.copyOf(fields);
+        return entityManager.createQuery(viewQuery(columns, "where s.id > :id "), Tuple.class)
+                .setParameter("id", id)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> toView(tuple, columns))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<StudentView> streamViewsOrderById(Set<StudentField> fields) {
+        List<StudentField> columns = List.copyOf(fields);
+        return entityManager.createQuery(viewQuery(columns, ""), Tuple.class)
+                .setHint(HINT_FETCH_SIZE, 500)
+                .setHint(HINT_READONLY, true)
+                .getResultStream()
+                .map(tuple -> toView(tuple, columns));
+    }
+
+    /**
+     * Поиск занятых e-mail среди не вставленных студентов пакета. Строка пропускается при конфликте по любому
+     * уникальному ограничению, поэтому если e-mail свободен, конфликт был по логину.
+     *
+     * @param batch  вставляемые студенты
+     * @param counts количество вставленных строк по студентам
+     * @return занятые e-mail
+     */
+    private Set<String> findExistingMails(List<Student> batch, int[] counts) {
+        List<String> skippedMails = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (counts[i] == 0) {
+                skippedMails.add(batch.get(i).getMail());
+            }
+        }
+        if (skippedMails.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(EXISTING_MAILS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", skippedMails.toArray())),
+                (rs, rowNum) -> rs.getString(1)));
+    }
+
+    /**
+     * Проверка заполненности обязательных полей студента.
+     *
+     * @param student студент
+     * @return {@code true}, если все обязательные поля заполнены
+     */
+    private static boolean isValid(Student student) {
+        return student != null
+                && student.getFirstname() != null
+                && student.getLastname() != null
+                && student.getMail() != null
+                && student.getUsername() != null
+                && student.getPassword() != null;
+    }
+
+    /**
+     * Запрос колонок выбранных полей студентов, упорядоченных по ИД.
+     *
+     * @param columns   поля
+     * @param condition условие выборки
+     * @return JPQL запрос
+     */
+    private static String viewQuery(List<StudentField> columns, String condition) {
+        StringJoiner select = new StringJoiner(", ", "select ", " from Student s " + condition + "order by s.id");
+        columns.forEach(field -> select.add("s." + field.getProperty()));
+        return select.toString();
+    }
+
+    /**
+     * Представление студента из строки запроса {@link #viewQuery}.
+     *
+     * @param tuple   строка запроса
+     * @param columns поля в порядке колонок
+     * @return представление студента
+     */
+    private static StudentView toView(Tuple tuple, List<StudentField> columns) {
+        StudentView view = new StudentView();
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).set(view, tuple.get(i));
+        }
+        return view;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.preex.repository.aspect;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.example.preex.repository.StudentRepository;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Обработчик, ограничивающий количество одновременных обращений к БД через репозиторий студентов и транзакции.
+ * <p>
+ * Пока запросы выполняются в пуле потоков Tomcat, число обращений к БД ограничено размером пула. На виртуальных
+ * потоках (см. {@link com.example.preex.execution.VirtualThreadConfiguration}) такого ограничения нет, и без семафора
+ * все запросы выстраивались бы в очередь пула соединений Hikari. Семафор ограничивает ожидание сроком
+ * {@code preex.db.acquire-timeout}, после чего запрос завершается с 503. Ограничение включается свойством
+ * {@code preex.db.limit-concurrency}, по умолчанию вместе с {@code preex.execution.virtual-threads}.
+ * <p>
+ * Разрешение берется до получения соединения: на время вызова метода репозитория или метода с
+ * {@link Transactional} (обработчик выполняется снаружи транзакции), а для методов, возвращающих {@link Stream}, -
+ * до закрытия потока, пока читается курсор. Поток, уже получивший разрешение, повторно его не запрашивает, поэтому
+ * транзакция не ждет разрешения, удерживая соединение, и не блокирует вызовы, ждущие соединения с разрешением.
+ * Количество разрешений не должно превышать размер пула соединений. Длительность вызовов репозитория передается
+ * в {@link DatabaseLatencyMonitor} и без ограничения.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class DatabaseConcurrencyAspect {
+
+    /**
+     * Признак ограничения одновременных обращений к БД.
+     */
+    private final boolean enabled;
+
+    /**
+     * Разрешения на обращение к БД.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Признак разрешения, полученного текущим потоком во внешнем вызове.
+     */
+    private final ThreadLocal<Boolean> holdsPermit = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Максимальное время ожидания разрешения, нс.
+     */
+    private final long acquireTimeoutNanos;
+
+    /**
+     * Средняя длительность обращений к БД.
+     */
+    private final DatabaseLatencyMonitor latencyMonitor;
+
+    /**
+     * Конструктор.
+     *
+     * @param enabled        признак ограничения одновременных обращений к БД
+     * @param maxConcurrency максимальное количество одновременных обращений к БД
+     * @param acquireTimeout максимальное время ожидания разрешения
+     * @param latencyMonitor средняя длительность обращений к БД
+     * @param meterRegistry  реестр метрик
+     */
+    public DatabaseConcurrencyAspect(@Value("${preex.db.limit-concurrency:${preex.execution.virtual-threads:false}}")
+                                     boolean enabled,
+                                     @Value("${preex.db.max-concurrency:10}") int maxConcurrency,
+                                     @Value("${preex.db.acquire-timeout:5s}") Duration acquireTimeout,
+                                     DatabaseLatencyMonitor latencyMonitor,
+                                     MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.latencyMonitor = latencyMonitor;
+        Gauge.builder("preex.db.concurrency.waiting", permits, Semaphore::getQueueLength).register(meterRegistry);
+        Gauge.builder("preex.db.concurrency.available", permits, Semaphore::availablePermits).register(meterRegistry);
+    }
+
+    /**
+     * Вызов метода репозитория студентов или транзакционного метода с разрешением на обращение к БД.
+     *
+     * @param joinPoint точка подключения
+     * @return результат метода
+     */
+    @Around("execution(* com.example.preex.repository.StudentRepository+.*(..))"
+            + " || execution(@org.springframework.transaction.annotation.Transactional * com.example.preex..*(..))")
+    public Object limitConcurrency(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean acquired = enabled && !holdsPermit.get();
+        if (acquired) {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new DatabaseBusyException();
+            }
+            holdsPermit.set(true);
+        }
+        long start = System.nanoTime();
+        boolean streaming = false;
+        try {
+            Object result = joinPoint.proceed();
+            if (acquired && result instanceof Stream) {
+                // Курсор читается после возврата из репозитория: разрешение освобождается при закрытии потока
+                AtomicBoolean released = new AtomicBoolean();
+                Stream<?> stream = ((Stream<?>) result).onClose(() -> {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                });
+                streaming = true;
+                return stream;
+            }
+            return result;
+        } finally {
+            if (joinPoint.getThis() instanceof StudentRepository) {
+                latencyMonitor.record(System.nanoTime() - start);
+            }
+            if (acquired) {
+                holdsPermit.set(false);
+                if (!streaming) {
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Не удалось дождаться разрешения на обращение к БД.
+     */
+    @ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE)
+    public static class DatabaseBusyException extends RuntimeException {
+        public DatabaseBusyException() {
+            super("Database is busy, try again later");
+        }
+    }
+}
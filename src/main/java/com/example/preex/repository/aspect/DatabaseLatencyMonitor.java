@@ -0,0 +1,70 @@
+package com.example.preex.repository.aspect;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Скользящая средняя длительности обращений к БД через репозиторий студентов.
+ * <p>
+ * Длительности записывает {@link DatabaseConcurrencyAspect}. Среднее экспоненциальное с весом последнего
+ * обращения {@code preex.db.latency.smoothing} и обновляется без блокировок.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class DatabaseLatencyMonitor {
+
+    /**
+     * Вес последнего обращения.
+     */
+    private final double smoothing;
+
+    /**
+     * Средняя длительность в нс, биты double.
+     */
+    private final AtomicLong averageNanos = new AtomicLong(Double.doubleToLongBits(0));
+
+    /**
+     * Конструктор.
+     *
+     * @param smoothing     вес последнего обращения, от 0 до 1
+     * @param meterRegistry реестр метрик
+     */
+    public DatabaseLatencyMonitor(@Value("${preex.db.latency.smoothing:0.1}") double smoothing,
+                                  MeterRegistry meterRegistry) {
+        this.smoothing = smoothing;
+        Gauge.builder("preex.db.latency.average", this, monitor -> monitor.getAverageNanos() / 1e6)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Запись длительности обращения.
+     *
+     * @param nanos длительность, нс
+     */
+    public void record(long nanos) {
+        while (true) {
+            long current = averageNanos.get();
+            double average = Double.longBitsToDouble(current);
+            double updated = average + smoothing * (nanos - average);
+            if (averageNanos.compareAndSet(current, Double.doubleToLongBits(updated))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Средняя длительность обращения.
+     *
+     * @return длительность, нс
+     */
+    public long getAverageNanos() {
+        return (long) Double.longBitsToDouble(averageNanos.get());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.preex.repository.routing;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Чтение с реплик БД (preex.datasource.read.enabled=true).
+ * <p>
+ * Основной пул строится из {@code spring.datasource.*}, пулы реплик - копии его настроек с адресами из
+ * {@code preex.datasource.read.urls}. Приложение получает {@link LazyConnectionDataSourceProxy} поверх
+ * {@link ReadReplicaRoutingDataSource}, поэтому транзакции {@code @Transactional(readOnly = true)} читают с реплик,
+ * а запись, миграции Flyway и запросы вне транзакций идут в основную БД.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Configuration
+@ConditionalOnProperty(name = "preex.datasource.read.enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    /**
+     * Пул соединений основной БД.
+     *
+     * @param properties настройки {@code spring.datasource.*}
+     * @return пул соединений
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Выбор БД по признаку транзакции только для чтения.
+     *
+     * @param primaryDataSource пул соединений основной БД
+     * @param urls              адреса реплик
+     * @param maxLag            допустимое отставание реплики
+     * @param checkInterval     интервал проверки реплик
+     * @param connectionTimeout ожидание соединения реплики
+     * @return источник соединений с выбором БД
+     */
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${preex.datasource.read.urls}") List<String> urls,
+            @Value("${preex.datasource.read.max-lag:1s}") Duration maxLag,
+            @Value("${preex.datasource.read.check-interval:1s}") Duration checkInterval,
+            @Value("${preex.datasource.read.connection-timeout:1s}") Duration connectionTimeout) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(urls.get(i));
+            config.setPoolName("replica-" + i);
+            // Недоступная реплика не должна задерживать чтение надолго: после ожидания читается основная БД
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, checkInterval);
+    }
+
+    /**
+     * Источник соединений приложения: соединение берется при первом запросе транзакции.
+     *
+     * @param readReplicaRoutingDataSource источник соединений с выбором БД
+     * @return источник соединений
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    /**
+     * Возврат соединения после каждой транзакции: иначе менеджер сущностей, открытый на весь запрос
+     * (spring.jpa.open-in-view), держит соединение, выбранное первой транзакцией, и запись после чтения ушла бы
+     * на реплику.
+     *
+     * @return настройка Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.preex.repository.routing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Источник соединений, направляющий транзакции только для чтения на реплики, а остальные запросы - в основную БД.
+ * <p>
+ * Реплика выбирается по кругу среди доступных: раз в {@code preex.datasource.read.check-interval} у каждой
+ * реплики запрашивается отставание воспроизведения, и реплика с отставанием больше
+ * {@code preex.datasource.read.max-lag} или без ответа не используется, пока не догонит. Если доступных реплик
+ * нет или реплика не выдала соединение, чтение выполняется в основной БД. Решение принимается при получении
+ * соединения, поэтому источник оборачивается в {@code LazyConnectionDataSourceProxy}: соединение берется при
+ * первом запросе, когда признак транзакции только для чтения уже установлен.
+ * <p>
+ * Метрики регистрируются как {@link MeterBinder}: реестр метрик сам зависит от источников соединений.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    /**
+     * Ключ основной БД.
+     */
+    static final String PRIMARY = "primary";
+
+    /**
+     * Отставание реплики, мс: 0, если реплика воспроизвела все полученные изменения или БД не является репликой,
+     * иначе время с последней воспроизведенной транзакции.
+     */
+    private static final String LAG_QUERY = "select case when not pg_is_in_recovery()"
+            + " or pg_last_wal_receive_lsn() <= pg_last_wal_replay_lsn() then 0"
+            + " else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0) end";
+
+    /**
+     * Признак обязательного чтения из основной БД в текущем потоке.
+     */
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    /**
+     * Основная БД.
+     */
+    private final DataSource primary;
+
+    /**
+     * Реплики по ключу.
+     */
+    private final Map<String, Replica> replicas = new LinkedHashMap<>();
+
+    /**
+     * Реплики в порядке обхода.
+     */
+    private final List<Replica> replicaList;
+
+    /**
+     * Допустимое отставание реплики, мс.
+     */
+    private final long maxLagMillis;
+
+    /**
+     * Номер следующей реплики.
+     */
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * Исполнитель проверки реплик.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Количество соединений основной БД для транзакций только для чтения.
+     */
+    private final LongAdder primaryReads = new LongAdder();
+
+    /**
+     * Количество соединений реплик.
+     */
+    private final LongAdder replicaReads = new LongAdder();
+
+    /**
+     * Количество переходов на основную БД из-за ошибки соединения с репликой.
+     */
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * Конструктор.
+     *
+     * @param primary       основная БД
+     * @param replicas      реплики
+     * @param maxLag        допустимое отставание реплики
+     * @param checkInterval интервал проверки реплик
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag,
+                                        Duration checkInterval) {
+        this.primary = primary;
+        this.maxLagMillis = maxLag.toMillis();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicas.get(i));
+            this.replicas.put(replica.name, replica);
+            targets.put(replica.name, replica.dataSource);
+        }
+        this.replicaList = new ArrayList<>(this.replicas.values());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-replica-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::checkReplicas, checkInterval.toNanos(), checkInterval.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Выполнение действия с чтением из основной БД, например, когда прочитанное должно включать только что
+     * записанные изменения.
+     *
+     * @param action действие
+     * @param <T>    тип результата
+     * @return результат действия
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (PRIMARY_REQUIRED.get() != null) {
+            return action.get();
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    /**
+     * Первая проверка реплик до начала работы.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PRIMARY_REQUIRED.get() != null) {
+            return PRIMARY;
+        }
+        int size = replicaList.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicaList.get((start + i) % size);
+            if (replica.available) {
+                return replica.name;
+            }
+        }
+        primaryReads.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * Соединение выбранной БД; если реплика не выдала соединение, она исключается до следующей успешной
+     * проверки, а соединение берется из основной БД.
+     *
+     * @return соединение
+     * @throws SQLException ошибка получения соединения основной БД
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = replicas.get((String) determineCurrentLookupKey());
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            replicaReads.increment();
+            return connection;
+        } catch (SQLException e) {
+            replica.available = false;
+            fallbacks.increment();
+            LOG.warn("Read replica {} is unavailable, reading from primary: {}", replica.name, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Проверка отставания реплик.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicaList) {
+            boolean wasAvailable = replica.available;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagMillis = resultSet.getDouble(1);
+                replica.available = replica.lagMillis <= maxLagMillis;
+            } catch (SQLException | RuntimeException e) {
+                replica.lagMillis = Double.NaN;
+                replica.available = false;
+            }
+            if (wasAvailable != replica.available) {
+                LOG.info("Read replica {} is {} (lag {} ms)", replica.name,
+                        replica.available ? "available" : "unavailable", replica.lagMillis);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("preex.datasource.read.connections", primaryReads, LongAdder::sum)
+                .tag("target", PRIMARY)
+                .register(registry);
+        FunctionCounter.builder("preex.datasource.read.connections", replicaReads, LongAdder::sum)
+                .tag("target", "replica")
+                .register(registry);
+        FunctionCounter.builder("preex.datasource.read.fallbacks", fallbacks, LongAdder::sum).register(registry);
+        for (Replica replica : replicaList) {
+            Gauge.builder("preex.datasource.read.lag", replica, r -> r.lagMillis)
+                    .tag("replica", replica.name)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        for (Replica replica : replicaList) {
+            if (replica.dataSource instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) replica.dataSource).close();
+                } catch (Exception e) {
+                    LOG.warn("Closing read replica {} failed", replica.name, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Реплика.
+     */
+    private static final class Replica {
+
+        /**
+         * Ключ реплики.
+         */
+        final String name;
+
+        /**
+         * Пул соединений реплики.
+         */
+        final DataSource dataSource;
+
+        /**
+         * Признак доступности для чтения.
+         */
+        volatile boolean available;
+
+        /**
+         * Отставание при последней проверке, мс; {@code NaN}, если проверка не удалась.
+         */
+        volatile double lagMillis = Double.NaN;
+
+        /**
+         * Конструктор.
+         *
+         * @param name       ключ реплики
+         * @param dataSource пул соединений реплики
+         */
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.preex.security;
+
+import com.example.preex.repository.aspect.DatabaseLatencyMonitor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.preex.controller.AsyncStudentController.PATH_ASYNC_STUDENT;
+import static com.example.preex.controller.StudentController.PATH_STUDENT;
+
+/**
+ * Ограничение частоты запросов к API и сброс нагрузки при медленной БД.
+ * <p>
+ * Каждому пользователю (анонимному клиенту - по адресу) выделяются два ведра токенов ({@link TokenBucket}):
+ * для дешевых запросов (по ИД, страницы, поиск) и для дорогих (полный список, пакетное создание и удаление).
+ * Без токена запрос сразу получает 429 с Retry-After. Если средняя длительность обращений к БД
+ * ({@link DatabaseLatencyMonitor}) выше {@code preex.rate-limit.shed.db-latency} и одновременно обрабатывается
+ * больше {@code preex.rate-limit.shed.max-concurrency} запросов, лишние запросы получают 503, не занимая потоки
+ * и соединения с БД.
+ * <p>
+ * Подключается в цепочку Spring Security после определения пользователя, см. {@link SecurityConfiguration}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Пути полного списка и пакетного удаления студентов.
+     */
+    private static final Set<String> LISTING_PATHS = Set.of(PATH_STUDENT, PATH_ASYNC_STUDENT);
+
+    /**
+     * Признак включения ограничений.
+     */
+    private final boolean enabled;
+
+    /**
+     * Токенов в секунду для дешевых запросов.
+     */
+    private final double cheapRate;
+
+    /**
+     * Емкость ведра дешевых запросов.
+     */
+    private final int cheapBurst;
+
+    /**
+     * Токенов в секунду для дорогих запросов.
+     */
+    private final double expensiveRate;
+
+    /**
+     * Емкость ведра дорогих запросов.
+     */
+    private final int expensiveBurst;
+
+    /**
+     * Средняя длительность обращений к БД, выше которой сбрасывается нагрузка, нс.
+     */
+    private final long shedLatencyNanos;
+
+    /**
+     * Количество одновременных запросов, выше которого сбрасывается нагрузка при медленной БД.
+     */
+    private final int shedConcurrency;
+
+    /**
+     * Средняя длительность обращений к БД.
+     */
+    private final DatabaseLatencyMonitor latencyMonitor;
+
+    /**
+     * Ведра дешевых запросов по клиенту.
+     */
+    private final Cache<String, TokenBucket> cheapBuckets;
+
+    /**
+     * Ведра дорогих запросов по клиенту.
+     */
+    private final Cache<String, TokenBucket> expensiveBuckets;
+
+    /**
+     * Количество обрабатываемых запросов.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Отклоненные дешевые запросы.
+     */
+    private final Counter cheapRejected;
+
+    /**
+     * Отклоненные дорогие запросы.
+     */
+    private final Counter expensiveRejected;
+
+    /**
+     * Запросы, отклоненные при медленной БД.
+     */
+    private final Counter shed;
+
+    /**
+     * Конструктор.
+     *
+     * @param enabled         признак включения ограничений
+     * @param cheapRate       токенов в секунду для дешевых запросов
+     * @param cheapBurst      емкость ведра дешевых запросов
+     * @param expensiveRate   токенов в секунду для дорогих запросов
+     * @param expensiveBurst  емкость ведра дорогих запросов
+     * @param shedLatency     средняя длительность обращений к БД, выше которой сбрасывается нагрузка
+     * @param shedConcurrency количество одновременных запросов, выше которого сбрасывается нагрузка
+     * @param maxClients      максимальное количество отслеживаемых клиентов
+     * @param latencyMonitor  средняя длительность обращений к БД
+     * @param meterRegistry   реестр метрик
+     */
+    public RateLimitFilter(@Value("${preex.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${preex.rate-limit.cheap.rate:200}") double cheapRate,
+                           @Value("${preex.rate-limit.cheap.burst:400}") int cheapBurst,
+                           @Value("${preex.rate-limit.expensive.rate:2}") double expensiveRate,
+                           @Value("${preex.rate-limit.expensive.burst:10}") int expensiveBurst,
+                           @Value("${preex.rate-limit.shed.db-latency:200ms}") Duration shedLatency,
+                           @Value("${preex.rate-limit.shed.max-concurrency:20}") int shedConcurrency,
+                           @Value("${preex.rate-limit.max-clients:100000}") long maxClients,
+                           DatabaseLatencyMonitor latencyMonitor,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cheapRate = cheapRate;
+        this.cheapBurst = cheapBurst;
+        this.expensiveRate = expensiveRate;
+        this.expensiveBurst = expensiveBurst;
+        this.shedLatencyNanos = shedLatency.toNanos();
+        this.shedConcurrency = shedConcurrency;
+        this.latencyMonitor = latencyMonitor;
+        // Ведро, не использовавшееся дольше времени наполнения, полное и равно новому
+        this.cheapBuckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos((long) (cheapBurst * 1e9 / cheapRate)).plusSeconds(1))
+                .build();
+        this.expensiveBuckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos((long) (expensiveBurst * 1e9 / expensiveRate)).plusSeconds(1))
+                .build();
+        this.cheapRejected = meterRegistry.counter("preex.rate-limit.rejected", "budget", "cheap");
+        this.expensiveRejected = meterRegistry.counter("preex.rate-limit.rejected", "budget", "expensive");
+        this.shed = meterRegistry.counter("preex.rate-limit.shed");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !path(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.nanoTime();
+        String client = client(request);
+        boolean expensive = isExpensive(request);
+        TokenBucket bucket = expensive
+                ? expensiveBuckets.get(client, key -> new TokenBucket(expensiveRate, expensiveBurst, now))
+                : cheapBuckets.get(client, key -> new TokenBucket(cheapRate, cheapBurst, now));
+        long wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            (expensive ? expensiveRejected : cheapRejected).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait);
+            return;
+        }
+        int active = inFlight.incrementAndGet();
+        try {
+            if (active > shedConcurrency && latencyMonitor.getAverageNanos() > shedLatencyNanos) {
+                shed.increment();
+                reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+                return;
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Клиент запроса: пользователь или адрес анонимного клиента.
+     *
+     * @param request запрос
+     * @return ключ клиента
+     */
+    private static String client(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Проверка, относится ли запрос к дорогим: полный список студентов, пакетное создание и удаление.
+     *
+     * @param request запрос
+     * @return {@code true} для дорогого запроса
+     */
+    private static boolean isExpensive(HttpServletRequest request) {
+        String path = path(request);
+        return switch (request.getMethod()) {
+            case "GET" -> LISTING_PATHS.contains(path) && request.getParameter("ids") == null
+                    && request.getParameter("limit") == null;
+            case "POST" -> path.endsWith("/batch");
+            case "DELETE" -> LISTING_PATHS.contains(path);
+            default -> false;
+        };
+    }
+
+    /**
+     * Путь запроса без контекста приложения.
+     *
+     * @param request запрос
+     * @return путь
+     */
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Отказ в обработке запроса.
+     *
+     * @param response  ответ
+     * @param status    код ответа
+     * @param waitNanos время до повтора, нс
+     */
+    private static void reject(HttpServletResponse response, HttpStatus status, long waitNanos) throws IOException {
+        response.setStatus(status.value());
+        long second = TimeUnit.SECONDS.toNanos(1);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitNanos + second - 1) / second)));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(status.getReasonPhrase());
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.preex.security;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
 
 /**
  * Конфигурация настроек веб безопасности.
@@ -16,12 +18,29 @@ public class SecurityConfiguration {
 
     /**
      * Разрешаем отправлять запросы всем авторизованным пользователм.
+     * Частота запросов ограничивается {@link RateLimitFilter} после определения пользователя.
      *
+     * @param rateLimitFilter фильтр ограничения частоты запросов
      * @return цепочка фильтра
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, RateLimitFilter rateLimitFilter) throws Exception {
         http.csrf().disable().authorizeRequests().antMatchers("/**").permitAll().anyRequest().authenticated();
+        http.addFilterAfter(rateLimitFilter, AnonymousAuthenticationFilter.class);
         return http.build();
     }
+
+    /**
+     * Отключение регистрации {@link RateLimitFilter} в контейнере сервлетов, фильтр вызывается только из цепочки
+     * Spring Security.
+     *
+     * @param rateLimitFilter фильтр ограничения частоты запросов
+     * @return регистрация фильтра
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
 }
@@ -0,0 +1,63 @@
+package com.example.preex.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Неблокирующее ведро токенов (в форме GCRA): хранит только теоретическое время следующего запроса.
+ * <p>
+ * Каждый запрос сдвигает это время на интервал между токенами; запрос принимается, если время опережает текущее
+ * не больше, чем на запас ведра. Обновление - одна операция compare-and-set.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+public class TokenBucket {
+
+    /**
+     * Интервал пополнения одного токена, нс.
+     */
+    private final long intervalNanos;
+
+    /**
+     * Допустимое опережение графика (запас ведра без одного токена), нс.
+     */
+    private final long toleranceNanos;
+
+    /**
+     * Теоретическое время следующего запроса по {@link System#nanoTime()}.
+     */
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Конструктор. Ведро создается полным.
+     *
+     * @param ratePerSecond количество токенов в секунду
+     * @param capacity      емкость ведра
+     * @param nowNanos      текущее время по {@link System#nanoTime()}
+     */
+    public TokenBucket(double ratePerSecond, int capacity, long nowNanos) {
+        this.intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.toleranceNanos = intervalNanos * (Math.max(1, capacity) - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Получение токена.
+     *
+     * @param nowNanos текущее время по {@link System#nanoTime()}
+     * @return 0, если токен получен, иначе время до появления токена, нс
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = arrival - nowNanos > 0 ? arrival : nowNanos;
+            long wait = start - toleranceNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,13 +1,39 @@
 package com.example.preex.service.Impl;
 
 import com.example.preex.model.Student;
+import com.example.preex.model.StudentBatchItemResult;
+import com.example.preex.model.StudentField;
+import com.example.preex.model.StudentSearchPage;
+import com.example.preex.model.StudentView;
 import com.example.preex.repository.StudentRepository;
+import com.example.preex.repository.routing.ReadReplicaRoutingDataSource;
 import com.example.preex.service.StudentService;
+import com.example.preex.service.cache.StudentCache;
+import com.example.preex.service.event.StudentChangedEvent;
+import com.example.preex.service.loader.StudentBatchLoader;
+import com.example.preex.service.search.StudentSearchIndex;
+import com.example.preex.service.writebehind.StudentWriteBehindBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Имплементация сервиса для работы со студентами.
@@ -18,70 +44,338 @@ import java.util.List;
 @Service
 public class StudentServiceImpl implements StudentService {
 
+    private static final Logger LOG = LoggerFactory.getLogger(StudentServiceImpl.class);
+
     /**
      * Репозиторий студентов.
      */
     final StudentRepository studentRepository;
 
+    /**
+     * Менеджер сущностей.
+     */
+    final EntityManager entityManager;
+
+    /**
+     * Кэш студентов.
+     */
+    final StudentCache studentCache;
+
+    /**
+     * Пакетный загрузчик студентов по ИД.
+     */
+    final StudentBatchLoader studentBatchLoader;
+
+    /**
+     * Поисковый индекс студентов.
+     */
+    final StudentSearchIndex studentSearchIndex;
+
+    /**
+     * Публикация событий изменения студентов.
+     */
+    final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Буфер отложенной записи изменений студентов.
+     */
+    final StudentWriteBehindBuffer studentWriteBehindBuffer;
+
+    /**
+     * Транзакции записи отложенных изменений.
+     */
+    final TransactionTemplate transactionTemplate;
+
     /**
      * Конструктор.
      *
-     * @param studentRepository репозиторий студентов
+     * @param studentRepository        репозиторий студентов
+     * @param entityManager            менеджер сущностей
+     * @param studentCache             кэш студентов
+     * @param studentBatchLoader       пакетный загрузчик студентов по ИД
+     * @param studentSearchIndex       поисковый индекс студентов
+     * @param eventPublisher           публикация событий изменения студентов
+     * @param studentWriteBehindBuffer буфер отложенной записи изменений студентов
+     * @param transactionManager       менеджер транзакций
      */
-    public StudentServiceImpl(StudentRepository studentRepository) {
+    public StudentServiceImpl(StudentRepository studentRepository, EntityManager entityManager,
+                              StudentCache studentCache, StudentBatchLoader studentBatchLoader,
+                              StudentSearchIndex studentSearchIndex, ApplicationEventPublisher eventPublisher,
+                              StudentWriteBehindBuffer studentWriteBehindBuffer,
+                              PlatformTransactionManager transactionManager) {
         this.studentRepository = studentRepository;
+        this.entityManager = entityManager;
+        this.studentCache = studentCache;
+        this.studentBatchLoader = studentBatchLoader;
+        this.studentSearchIndex = studentSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.studentWriteBehindBuffer = studentWriteBehindBuffer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        studentWriteBehindBuffer.setWriter(this::writeDeferredUpdates);
     }
 
     @Override
     public void createStudent(Student student) {
+        // С ИД save обновил бы существующего студента в обход проверок updateStudent
+        if (student.getId() != null) {
+            throw new StudentIdNotAllowedException(student.getId());
+        }
+        student.setVersion(null);
         studentRepository.save(student);
+        studentCache.invalidate(student.getId());
+        studentSearchIndex.put(student);
+        eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.CREATED,
+                List.of(student.getId())));
+    }
+
+    @Override
+    public List<StudentBatchItemResult> createStudents(List<Student> students) {
+        List<StudentBatchItemResult> results = studentRepository.insertAll(students);
+        List<Integer> createdIds = new ArrayList<>(results.size());
+        for (StudentBatchItemResult result : results) {
+            if (result.getStatus() == StudentBatchItemResult.Status.CREATED) {
+                studentSearchIndex.put(students.get(result.getIndex()));
+                createdIds.add(result.getId());
+            }
+        }
+        if (!createdIds.isEmpty()) {
+            eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.CREATED, createdIds));
+        }
+        return results;
     }
 
     @Override
     public void updateStudent(Student updatedStudent) {
-        Student oldStudent = studentRepository.findById(updatedStudent.getId())
-                .orElseThrow(() -> new StudentNotFoundException(updatedStudent.getId()));
-        if (updatedStudent.getPassword() != null) {
-            if (!oldStudent.isAccountNonExpired()) {
+        Integer id = updatedStudent.getId();
+        // Отложенные изменения записываются раньше, чтобы не перезаписать более позднее обновление
+        studentWriteBehindBuffer.flush(id);
+        if (studentRepository.patch(updatedStudent) == 0) {
+            Long version = findPrimaryVersionById(id);
+            if (version == null) {
+                throw new StudentNotFoundException(id);
+            }
+            if (updatedStudent.getVersion() != null && !updatedStudent.getVersion().equals(version)) {
+                throw new StudentVersionConflictException(id, version);
+            }
+            if (updatedStudent.getPassword() != null) {
                 throw new AccountIsExpiredException();
             }
-            oldStudent.setPassword(updatedStudent.getPassword());
+            throw new StudentNotFoundException(id);
         }
-        if (updatedStudent.getFirstname() != null) {
-            oldStudent.setFirstname(updatedStudent.getFirstname());
+        studentCache.invalidate(id);
+        studentSearchIndex.merge(updatedStudent);
+        eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, List.of(id)));
+    }
+
+    @Override
+    public boolean deferStudentUpdate(Student updatedStudent) {
+        if (!studentWriteBehindBuffer.isEnabled() || updatedStudent.getVersion() != null
+                || updatedStudent.getPassword() != null) {
+            return false;
         }
-        if (updatedStudent.getLastname() != null) {
-            oldStudent.setLastname(updatedStudent.getLastname());
+        Integer id = updatedStudent.getId();
+        if (!studentWriteBehindBuffer.isPending(id) && findVersionById(id) == null) {
+            throw new StudentNotFoundException(id);
         }
-        if (updatedStudent.getMail() != null) {
-            oldStudent.setMail(updatedStudent.getMail());
+        return studentWriteBehindBuffer.merge(updatedStudent);
+    }
+
+    /**
+     * Запись пакета отложенных изменений в одной транзакции. Нарушение ограничения прерывает транзакцию целиком,
+     * поэтому в этом случае изменения записываются по одному и отбрасываются только нарушающие.
+     *
+     * @param patches изменения студентов
+     * @return количество отброшенных изменений
+     */
+    private int writeDeferredUpdates(List<Student> patches) {
+        List<Student> written = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> patches.forEach(patch -> {
+                if (studentRepository.patch(patch) > 0) {
+                    written.add(patch);
+                }
+            }));
+        } catch (DataIntegrityViolationException e) {
+            written.clear();
+            for (Student patch : patches) {
+                try {
+                    Integer updated = transactionTemplate.execute(status -> studentRepository.patch(patch));
+                    if (updated != null && updated > 0) {
+                        written.add(patch);
+                    }
+                } catch (DataIntegrityViolationException patchException) {
+                    LOG.warn("Deferred update of student {} is dropped: {}", patch.getId(),
+                            patchException.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        if (written.isEmpty()) {
+            return patches.size();
         }
-        studentRepository.save(oldStudent);
+        List<Integer> ids = new ArrayList<>(written.size());
+        written.forEach(patch -> {
+            studentCache.invalidate(patch.getId());
+            studentSearchIndex.merge(patch);
+            ids.add(patch.getId());
+        });
+        eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, ids));
+        return patches.size() - written.size();
     }
 
     @Override
     public void deleteStudentById(Integer id) {
-        Student oldStudent = studentRepository.findById(id)
-                .orElseThrow(() -> new StudentNotFoundException(id));
-        studentRepository.delete(oldStudent);
+        if (studentRepository.removeById(id) == 0) {
+            throw new StudentNotFoundException(id);
+        }
+        studentCache.invalidateDeleted(id);
+        studentSearchIndex.remove(id);
+        eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.DELETED, List.of(id)));
+    }
+
+    @Override
+    public int deleteStudentsByIds(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Integer> deleted = studentRepository.removeAllByIdIn(ids);
+        deleted.forEach(id -> {
+            studentCache.invalidateDeleted(id);
+            studentSearchIndex.remove(id);
+        });
+        if (!deleted.isEmpty()) {
+            eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.DELETED,
+                    new ArrayList<>(deleted)));
+        }
+        return deleted.size();
     }
 
     @Override
     public Student getStudentById(Integer id) {
-        return studentRepository.findById(id)
-                .orElseThrow(() -> new StudentNotFoundException(id));
+        Student student = findStudentById(id);
+        if (student == null) {
+            throw new StudentNotFoundException(id);
+        }
+        return student;
+    }
+
+    @Override
+    public Long getStudentVersion(Integer id) {
+        // Версия студента с отложенными изменениями станет известна только после их записи
+        studentWriteBehindBuffer.flush(id);
+        Long version = findVersionById(id);
+        if (version == null) {
+            throw new StudentNotFoundException(id);
+        }
+        return version;
+    }
+
+    @Override
+    public List<Student> getStudentsByIds(List<Integer> ids) {
+        List<CompletableFuture<Student>> students = ids.stream()
+                .distinct()
+                .map(id -> studentCache.getByIdAsync(id, studentBatchLoader::load))
+                .collect(Collectors.toList());
+        return students.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     @Override
     public Student getStudentByUsername(String username) {
-        return studentRepository.findStudentByUsername(username);
+        // ИД читается в собственной транзакции только для чтения: студент загружается пакетным загрузчиком
+        // в другом потоке, и удержание соединения на время ожидания исчерпало бы пул при нагрузке на логин
+        Integer id = studentCache.getIdByUsername(username, studentRepository::findIdByUsername);
+        if (id == null) {
+            return null;
+        }
+        Student student = findStudentById(id);
+        if (student == null || !username.equals(student.getUsername())) {
+            // Студент удален, пока загружалось соответствие логина и ИД
+            studentCache.invalidateUsername(username);
+            return studentRepository.findStudentByUsername(username);
+        }
+        return student;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Student> getStudentsPage(Integer after, int limit) {
+        return studentRepository.findByIdGreaterThanOrderByIdAsc(after != null ? after : Integer.MIN_VALUE,
+                PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public StudentSearchPage searchStudents(String query, int offset, int limit) {
+        StudentSearchIndex.Result result = studentSearchIndex.search(query, offset, limit);
+        int nextOffset = offset + result.getIds().size();
+        return new StudentSearchPage(getStudentsByIds(result.getIds()), result.getTotal(),
+                nextOffset < result.getTotal() ? nextOffset : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachStudent(Consumer<Student> action) {
+        try (Stream<Student> students = studentRepository.streamAllOrderById()) {
+            students.forEach(student -> {
+                action.accept(student);
+                entityManager.detach(student);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudentView> getStudentViewsPage(Integer after, int limit, Set<StudentField> fields) {
+        return studentRepository.findViewsByIdGreaterThan(after != null ? after : Integer.MIN_VALUE, limit, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachStudentView(Set<StudentField> fields, Consumer<StudentView> action) {
+        try (Stream<StudentView> views = studentRepository.streamViewsOrderById(fields)) {
+            views.forEach(action);
+        }
+    }
+
+    /**
+     * Получение студента по ИД через кэш и пакетный загрузчик с наложением отложенных изменений.
+     *
+     * @param id ИД студента
+     * @return студент или {@code null}, если студента нет
+     */
+    private Student findStudentById(Integer id) {
+        return studentWriteBehindBuffer.overlay(studentCache.getById(id, studentBatchLoader::load));
+    }
+
+    /**
+     * Поиск записанной версии студента в кэше или БД.
+     *
+     * @param id ИД студента
+     * @return версия или {@code null}, если студента нет
+     */
+    private Long findVersionById(Integer id) {
+        Long version = studentCache.getVersionIfPresent(id);
+        return version != null ? version : findPrimaryVersionById(id);
+    }
+
+    /**
+     * Поиск версии студента в основной БД: версия проверяется в условных запросах и при записи, и реплика,
+     * отстающая от только что записанного изменения, дала бы устаревший ответ.
+     *
+     * @param id ИД студента
+     * @return версия или {@code null}, если студента нет
+     */
+    private Long findPrimaryVersionById(Integer id) {
+        return ReadReplicaRoutingDataSource.onPrimary(() -> studentRepository.findVersionById(id));
+    }
+
     /**
      * Студент не найден.
      */
@@ -92,6 +386,26 @@ public class StudentServiceImpl implements StudentService {
         }
     }
 
+    /**
+     * При создании передан ИД студента.
+     */
+    @ResponseStatus(code = HttpStatus.BAD_REQUEST)
+    public static class StudentIdNotAllowedException extends RuntimeException {
+        public StudentIdNotAllowedException(Integer id) {
+            super("Student id = " + id + " is assigned by the server, use PUT to update a student");
+        }
+    }
+
+    /**
+     * Версия студента не совпадает с ожидаемой: студента изменили после того, как клиент его получил.
+     */
+    @ResponseStatus(code = HttpStatus.PRECONDITION_FAILED)
+    public static class StudentVersionConflictException extends RuntimeException {
+        public StudentVersionConflictException(Integer id, Long currentVersion) {
+            super("Student with id = " + id + " was modified, current version = " + currentVersion);
+        }
+    }
+
     /**
      * Истек срок действия аккаунта.
      */
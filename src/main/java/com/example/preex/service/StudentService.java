@@ -1,9 +1,15 @@
 package com.example.preex.service;
 
 import com.example.preex.model.Student;
+import com.example.preex.model.StudentBatchItemResult;
+import com.example.preex.model.StudentField;
+import com.example.preex.model.StudentSearchPage;
+import com.example.preex.model.StudentView;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Сервис для работы со студентами.
@@ -15,19 +21,39 @@ import java.util.List;
 public interface StudentService {
 
     /**
-     * Создание студента.
+     * Создание студента. ИД не допускается: его назначает БД, изменение студента - только через обновление.
      *
      * @param student модель студента
      */
     void createStudent(Student student);
 
+    /**
+     * Пакетное создание студентов.
+     *
+     * @param students модели студентов
+     * @return результаты создания каждого студента
+     */
+    List<StudentBatchItemResult> createStudents(List<Student> students);
+
     /**
      * Обновление студента.
+     * Если у модели указана версия, студент обновляется только при совпадении с текущей версией.
      *
      * @param updatedStudent модель студента
      */
     void updateStudent(Student updatedStudent);
 
+    /**
+     * Отложенное обновление студента: изменения имени, фамилии и e-mail объединяются с еще не записанными
+     * изменениями того же студента и записываются в БД позже пакетом. Чтение студента по ИД видит изменения сразу.
+     * Ошибки записи (например, занятый e-mail) в ответ не попадают: изменение отбрасывается с записью в журнал.
+     *
+     * @param updatedStudent модель студента с ИД, без версии и пароля
+     * @return {@code true}, если обновление отложено; {@code false}, если отложенная запись выключена или
+     * буфер переполнен и студента нужно обновить через {@link #updateStudent(Student)}
+     */
+    boolean deferStudentUpdate(Student updatedStudent);
+
     /**
      * Удаление студента.
      *
@@ -36,13 +62,38 @@ public interface StudentService {
     void deleteStudentById(Integer id);
 
     /**
-     * Получение студента по ИД.
+     * Удаление студентов по списку ИД.
+     *
+     * @param ids ИД студентов
+     * @return количество удаленных студентов
+     */
+    int deleteStudentsByIds(List<Integer> ids);
+
+    /**
+     * Получение студента по ИД, включая еще не записанные отложенные изменения.
      *
      * @param id ИД студента
      * @return студент
      */
     Student getStudentById(Integer id);
 
+    /**
+     * Получение версии студента без загрузки остальных полей, если студента еще нет в кэше.
+     *
+     * @param id ИД студента
+     * @return версия студента
+     */
+    Long getStudentVersion(Integer id);
+
+    /**
+     * Получение студентов по списку ИД.
+     * Конкурентные запросы объединяются в общие пакетные запросы к БД.
+     *
+     * @param ids ИД студентов
+     * @return найденные студенты в порядке запрошенных ИД
+     */
+    List<Student> getStudentsByIds(List<Integer> ids);
+
     /**
      * Получение студента по лошину.
      *
@@ -57,4 +108,49 @@ public interface StudentService {
      * @return список всех студентов
      */
     List<Student> getAllStudents();
+
+    /**
+     * Получение страницы студентов, упорядоченных по ИД.
+     *
+     * @param after ИД, после которого начинается страница, {@code null} для первой страницы
+     * @param limit размер страницы
+     * @return студенты страницы
+     */
+    List<Student> getStudentsPage(Integer after, int limit);
+
+    /**
+     * Поиск студентов по имени, фамилии, e-mail и логину: по префиксу, подстроке и с опечатками.
+     *
+     * @param query  строка поиска
+     * @param offset количество пропускаемых результатов
+     * @param limit  размер страницы
+     * @return страница найденных студентов
+     */
+    StudentSearchPage searchStudents(String query, int offset, int limit);
+
+    /**
+     * Потоковый обход всех студентов, упорядоченных по ИД.
+     * Студенты не накапливаются в памяти: каждый передается обработчику и сразу отсоединяется от контекста.
+     *
+     * @param action обработчик студента
+     */
+    void forEachStudent(Consumer<Student> action);
+
+    /**
+     * Получение страницы представлений студентов, упорядоченных по ИД. Из БД читаются только выбранные поля.
+     *
+     * @param after  ИД, после которого начинается страница, {@code null} для первой страницы
+     * @param limit  размер страницы
+     * @param fields поля представления
+     * @return представления студентов страницы
+     */
+    List<StudentView> getStudentViewsPage(Integer after, int limit, Set<StudentField> fields);
+
+    /**
+     * Потоковый обход представлений всех студентов, упорядоченных по ИД. Из БД читаются только выбранные поля.
+     *
+     * @param fields поля представления
+     * @param action обработчик представления
+     */
+    void forEachStudentView(Set<StudentField> fields, Consumer<StudentView> action);
 }
@@ -0,0 +1,98 @@
+package com.example.preex.service.aspect;
+
+import com.example.preex.model.Student;
+
+import java.util.Collection;
+
+/**
+ * Событие вызова метода сервиса для журнала.
+ * Хранит только разрешенные поля аргументов: для студента это ИД и логин, для коллекций - размер.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+final class ServiceLogEvent {
+
+    /**
+     * Время вызова.
+     */
+    final long timestamp;
+
+    /**
+     * Имя метода сервиса.
+     */
+    final String method;
+
+    /**
+     * Разрешенные поля аргументов: ИД и логины как есть, размеры коллекций, для прочего - имя типа.
+     */
+    final Object[] arguments;
+
+    /**
+     * Конструктор.
+     *
+     * @param timestamp время вызова
+     * @param method    имя метода сервиса
+     * @param arguments аргументы вызова
+     */
+    ServiceLogEvent(long timestamp, String method, Object[] arguments) {
+        this.timestamp = timestamp;
+        this.method = method;
+        this.arguments = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            this.arguments[i] = whitelist(arguments[i]);
+        }
+    }
+
+    /**
+     * Выбор разрешенных для журнала полей аргумента.
+     *
+     * @param argument аргумент
+     * @return значение для журнала
+     */
+    private static Object whitelist(Object argument) {
+        if (argument == null || argument instanceof Number || argument instanceof String) {
+            return argument;
+        }
+        if (argument instanceof Student) {
+            Student student = (Student) argument;
+            return new StudentFields(student.getId(), student.getUsername());
+        }
+        if (argument instanceof Collection) {
+            return "size=" + ((Collection<?>) argument).size();
+        }
+        return argument.getClass().getSimpleName();
+    }
+
+    /**
+     * Разрешенные для журнала поля студента.
+     */
+    private static final class StudentFields {
+
+        /**
+         * ИД студента.
+         */
+        private final Integer id;
+
+        /**
+         * Логин студента.
+         */
+        private final String username;
+
+        /**
+         * Конструктор.
+         *
+         * @param id       ИД студента
+         * @param username логин студента
+         */
+        private StudentFields(Integer id, String username) {
+            this.id = id;
+            this.username = username;
+        }
+
+        @Override
+        public String toString() {
+            return "Student(id=" + id + ", username=" + username + ")";
+        }
+    }
+}
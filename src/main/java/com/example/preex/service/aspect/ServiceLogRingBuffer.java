@@ -0,0 +1,99 @@
+package com.example.preex.service.aspect;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ограниченный неблокирующий кольцевой буфер для многих писателей и одного читателя.
+ * Каждая ячейка хранит номер последовательности, по которому писатели и читатель определяют ее готовность.
+ *
+ * @param <E> тип элемента
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+class ServiceLogRingBuffer<E> {
+
+    /**
+     * Маска индекса ячейки.
+     */
+    private final int mask;
+
+    /**
+     * Элементы.
+     */
+    private final AtomicReferenceArray<E> elements;
+
+    /**
+     * Номера последовательности ячеек.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Позиция следующей записи.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Позиция следующего чтения, изменяется только читателем.
+     */
+    private long head;
+
+    /**
+     * Конструктор.
+     *
+     * @param capacity вместимость, округляется вверх до степени двойки
+     */
+    ServiceLogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Добавление элемента без ожидания.
+     *
+     * @param element элемент
+     * @return {@code false}, если буфер заполнен
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Извлечение элемента. Вызывается только из потока читателя.
+     *
+     * @return элемент или {@code null}, если буфер пуст
+     */
+    E poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.set(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return element;
+    }
+}
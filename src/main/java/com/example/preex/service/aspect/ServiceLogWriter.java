@@ -0,0 +1,144 @@
+package com.example.preex.service.aspect;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Асинхронный журнал вызовов сервисов.
+ * <p>
+ * Вызывающий поток только кладет событие в кольцевой буфер, форматирование и запись в лог выполняет фоновый поток
+ * пачками. Если буфер заполнен, событие отбрасывается и учитывается в счетчике {@code service.log.dropped}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class ServiceLogWriter implements DisposableBean {
+
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(ServiceLoggingAspect.class);
+
+    /**
+     * Буфер событий.
+     */
+    private final ServiceLogRingBuffer<ServiceLogEvent> buffer;
+
+    /**
+     * Доля журналируемых вызовов.
+     */
+    private final double sampleRate;
+
+    /**
+     * Максимальное количество событий, записываемых за один проход.
+     */
+    private final int batchSize;
+
+    /**
+     * Пауза фонового потока при пустом буфере.
+     */
+    private final long idleNanos;
+
+    /**
+     * Счетчик отброшенных событий.
+     */
+    private final Counter droppedCounter;
+
+    /**
+     * Фоновый поток записи.
+     */
+    private final Thread thread;
+
+    /**
+     * Признак работы фонового потока.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Конструктор.
+     *
+     * @param capacity      вместимость буфера
+     * @param sampleRate    доля журналируемых вызовов от 0 до 1
+     * @param batchSize     максимальное количество событий, записываемых за один проход
+     * @param idle          пауза фонового потока при пустом буфере
+     * @param meterRegistry реестр метрик
+     */
+    public ServiceLogWriter(@Value("${preex.service-log.capacity:8192}") int capacity,
+                            @Value("${preex.service-log.sample-rate:1.0}") double sampleRate,
+                            @Value("${preex.service-log.batch-size:256}") int batchSize,
+                            @Value("${preex.service-log.idle:10ms}") Duration idle,
+                            MeterRegistry meterRegistry) {
+        this.buffer = new ServiceLogRingBuffer<>(capacity);
+        this.sampleRate = sampleRate;
+        this.batchSize = batchSize;
+        this.idleNanos = idle.toNanos();
+        this.droppedCounter = meterRegistry.counter("service.log.dropped");
+        this.thread = new Thread(this::run, "service-log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Журналирование вызова метода сервиса с учетом выборки.
+     *
+     * @param method    имя метода
+     * @param arguments аргументы вызова
+     */
+    public void log(String method, Object[] arguments) {
+        if (!LOG.isInfoEnabled() || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        if (!buffer.offer(new ServiceLogEvent(System.currentTimeMillis(), method, arguments))) {
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * Цикл фонового потока: запись событий пачками.
+     */
+    private void run() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+        while (drain() > 0) {
+            // Дописываем оставшиеся события при остановке
+        }
+    }
+
+    /**
+     * Запись пачки событий из буфера.
+     *
+     * @return количество записанных событий
+     */
+    private int drain() {
+        int written = 0;
+        ServiceLogEvent event;
+        while (written < batchSize && (event = buffer.poll()) != null) {
+            LOG.info("Service call {} at {}: {}", event.method, Instant.ofEpochMilli(event.timestamp),
+                    Arrays.toString(event.arguments));
+            written++;
+        }
+        return written;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(Duration.ofSeconds(5).toMillis());
+    }
+}
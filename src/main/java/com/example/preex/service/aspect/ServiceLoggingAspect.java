@@ -3,34 +3,45 @@ package com.example.preex.service.aspect;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
-
-import java.util.Arrays;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Обработчик, добавляющий логгирование сервисов приложения.
+ * Запись в лог асинхронная, см. {@link ServiceLogWriter}.
+ * Регистрируется в {@link com.example.preex.aop.AspectConfiguration}.
  *
  * @author Mikhail Nikiforov
  * @since 2023.12.17
  */
 @Aspect
-@Component
 public class ServiceLoggingAspect {
 
     /**
-     * Логгер.
+     * Асинхронный журнал вызовов сервисов.
+     */
+    private ServiceLogWriter serviceLogWriter;
+
+    /**
+     * Установка асинхронного журнала вызовов сервисов.
+     * Зависимость внедряется через сеттер, так как при компиляции с ajc экземпляр создает AspectJ.
+     *
+     * @param serviceLogWriter асинхронный журнал вызовов сервисов
      */
-    private static final Logger LOG = LoggerFactory.getLogger(ServiceLoggingAspect.class);
+    @Autowired
+    public void setServiceLogWriter(ServiceLogWriter serviceLogWriter) {
+        this.serviceLogWriter = serviceLogWriter;
+    }
 
     /**
-     * Логгирует запуск создания сущностей.
+     * Логгирует вызовы методов сервиса студентов.
      *
      * @param joinPoint точка подключения
      */
-    @Before("execution(* com.example.preex.service.StudentService.createStudent(*))")
+    @Before("execution(* com.example.preex.service.StudentService.*(..))")
     public void logBeforeMethodCall(JoinPoint joinPoint) {
-        LOG.info("Start of new object save: " + Arrays.toString(joinPoint.getArgs()));
+        // При вплетении при компиляции обработчик может сработать до внедрения зависимостей
+        if (serviceLogWriter != null) {
+            serviceLogWriter.log(joinPoint.getSignature().getName(), joinPoint.getArgs());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,192 @@
+package com.example.preex.service.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Изолированный пул для вызовов сервиса студентов из асинхронных точек API.
+ * <p>
+ * Размер пула соответствует пулу соединений с БД, очередь ограничена. Если очередь заполнена, вызов сразу
+ * завершается {@link BulkheadFullException}, а не ждет свободного потока. Вызов, не начавшийся до истечения срока,
+ * завершается {@link DeadlineExceededException} и не выполняется. Начавшийся вызов не прерывается: для чтения
+ * ({@link #submit}) его результат по истечении срока уже не ожидается, а изменение ({@link #submitChange})
+ * ожидается до конца, чтобы клиент не получил 503 и не повторил уже выполненное изменение.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class StudentServiceBulkhead implements DisposableBean {
+
+    /**
+     * Исполнитель вызовов.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Планировщик сроков вызовов; срок отменяется при завершении вызова.
+     */
+    private final ScheduledThreadPoolExecutor deadlineScheduler;
+
+    /**
+     * Срок выполнения вызова по умолчанию и максимальный.
+     */
+    private final Duration maxDeadline;
+
+    /**
+     * Счетчик отклоненных вызовов.
+     */
+    private final Counter rejectedCounter;
+
+    /**
+     * Счетчик вызовов, не выполненных в срок.
+     */
+    private final Counter expiredCounter;
+
+    /**
+     * Конструктор.
+     *
+     * @param poolSize      количество потоков, не больше размера пула соединений
+     * @param queueCapacity максимальное количество ожидающих вызовов
+     * @param maxDeadline   срок выполнения вызова по умолчанию и максимальный
+     * @param meterRegistry реестр метрик
+     */
+    public StudentServiceBulkhead(@Value("${preex.async.pool-size:10}") int poolSize,
+                                  @Value("${preex.async.queue-capacity:100}") int queueCapacity,
+                                  @Value("${preex.async.deadline:2s}") Duration maxDeadline,
+                                  MeterRegistry meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "student-service-bulkhead-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deadlineScheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "student-service-bulkhead-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deadlineScheduler.setRemoveOnCancelPolicy(true);
+        this.maxDeadline = maxDeadline;
+        this.rejectedCounter = meterRegistry.counter("preex.bulkhead.rejected");
+        this.expiredCounter = meterRegistry.counter("preex.bulkhead.expired");
+        Gauge.builder("preex.bulkhead.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("preex.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    /**
+     * Чтение в изолированном пуле со сроком выполнения.
+     *
+     * @param deadline срок выполнения, {@code null} - срок по умолчанию; ограничивается максимальным сроком
+     * @param call     вызов
+     * @param <T>      тип результата
+     * @return результат вызова
+     */
+    public <T> CompletableFuture<T> submit(Duration deadline, Supplier<T> call) {
+        return submit(deadline, call, false);
+    }
+
+    /**
+     * Изменение в изолированном пуле. Срок ограничивает только ожидание в очереди.
+     *
+     * @param deadline срок начала выполнения, {@code null} - срок по умолчанию; ограничивается максимальным сроком
+     * @param call     вызов
+     * @param <T>      тип результата
+     * @return результат вызова
+     */
+    public <T> CompletableFuture<T> submitChange(Duration deadline, Supplier<T> call) {
+        return submit(deadline, call, true);
+    }
+
+    /**
+     * Вызов в изолированном пуле со сроком выполнения.
+     *
+     * @param deadline         срок выполнения, {@code null} - срок по умолчанию
+     * @param call             вызов
+     * @param awaitStartedCall признак ожидания начавшегося вызова после истечения срока
+     * @param <T>              тип результата
+     * @return результат вызова
+     */
+    private <T> CompletableFuture<T> submit(Duration deadline, Supplier<T> call, boolean awaitStartedCall) {
+        Duration timeout = deadline == null || deadline.compareTo(maxDeadline) > 0 ? maxDeadline : deadline;
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean started = new AtomicBoolean();
+        Runnable task = () -> {
+            // Срок истек, пока вызов ждал в очереди
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(call.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            result.completeExceptionally(new BulkheadFullException());
+            return result;
+        }
+        ScheduledFuture<?> expiration = deadlineScheduler.schedule(() -> {
+            boolean notStarted = started.compareAndSet(false, true);
+            if (notStarted) {
+                // Не начавшийся вызов освобождает место в очереди сразу, а не когда до него дойдет поток
+                executor.remove(task);
+            }
+            if ((notStarted || !awaitStartedCall)
+                    && result.completeExceptionally(new DeadlineExceededException(timeout))) {
+                expiredCounter.increment();
+            }
+        }, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        result.whenComplete((value, error) -> expiration.cancel(false));
+        return result;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        deadlineScheduler.shutdownNow();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Очередь вызовов заполнена.
+     */
+    @ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE)
+    public static class BulkheadFullException extends RuntimeException {
+        public BulkheadFullException() {
+            super("Too many concurrent requests, try again later");
+        }
+    }
+
+    /**
+     * Вызов не выполнен в срок.
+     */
+    @ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE)
+    public static class DeadlineExceededException extends RuntimeException {
+        public DeadlineExceededException(Duration deadline) {
+            super("Request was not completed within " + deadline.toMillis() + " ms");
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.preex.service.cache;
+
+import com.example.preex.model.Student;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Ограниченный по размеру и времени жизни кэш студентов перед репозиторием.
+ * <p>
+ * Загрузка по одному ключу выполняется однократно: конкурентные запросы одного ключа ждут первую загрузку.
+ * Загрузка студентов по ИД асинхронная, поэтому ожидание загрузки не блокирует соседние ключи.
+ * Кэш хранит копии студентов и отдает копии, поэтому изменение полученного студента не портит кэш.
+ * Счетчики попаданий, промахов и вытеснений публикуются в метриках {@code cache.*}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class StudentCache {
+
+    /**
+     * Студенты по ИД.
+     */
+    private final AsyncCache<Integer, Student> studentsById;
+
+    /**
+     * ИД студентов по логину. Логин студента не изменяется, поэтому соответствие сбрасывается только при удалении.
+     */
+    private final Cache<String, Integer> idsByUsername;
+
+    /**
+     * Логины студентов по ИД для сброса соответствия логина при удалении студента без просмотра всего кэша.
+     */
+    private final ConcurrentMap<Integer, String> usernamesById = new ConcurrentHashMap<>();
+
+    /**
+     * Исполнитель повторного сброса студентов или {@code null}, если повторный сброс не нужен.
+     */
+    private final Executor reinvalidateExecutor;
+
+    /**
+     * Конструктор.
+     *
+     * @param maximumSize       максимальное количество студентов в кэше
+     * @param ttl               время жизни записи
+     * @param reinvalidateDelay задержка повторного сброса студента после изменения; 0 - без повторного сброса
+     * @param readReplicas      чтение с реплик БД
+     * @param replicaMaxLag     допустимое отставание реплики: при чтении с реплик задержка повторного сброса
+     *                          не меньше него, иначе в кэш может попасть строка с реплики до изменения
+     * @param meterRegistry     реестр метрик
+     */
+    public StudentCache(@Value("${preex.student-cache.maximum-size:10000}") long maximumSize,
+                        @Value("${preex.student-cache.ttl:PT5M}") Duration ttl,
+                        @Value("${preex.student-cache.reinvalidate-delay:0s}") Duration reinvalidateDelay,
+                        @Value("${preex.datasource.read.enabled:false}") boolean readReplicas,
+                        @Value("${preex.datasource.read.max-lag:1s}") Duration replicaMaxLag,
+                        MeterRegistry meterRegistry) {
+        if (readReplicas && reinvalidateDelay.compareTo(replicaMaxLag) < 0) {
+            reinvalidateDelay = replicaMaxLag;
+        }
+        this.reinvalidateExecutor = reinvalidateDelay.isZero() ? null
+                : CompletableFuture.delayedExecutor(reinvalidateDelay.toNanos(), TimeUnit.NANOSECONDS);
+        this.studentsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.idsByUsername = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .evictionListener((String username, Integer id, RemovalCause cause) -> {
+                    if (id != null) {
+                        usernamesById.remove(id, username);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, studentsById, "students");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByUsername, "studentIdsByUsername");
+    }
+
+    /**
+     * Получение студента по ИД.
+     *
+     * @param id     ИД студента
+     * @param loader загрузка студента из БД, результат {@code null} если студента нет
+     * @return копия студента или {@code null}, если студента нет
+     */
+    public Student getById(Integer id, Function<Integer, CompletableFuture<Student>> loader) {
+        try {
+            return getByIdAsync(id, loader).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Асинхронное получение студента по ИД.
+     *
+     * @param id     ИД студента
+     * @param loader загрузка студента из БД, результат {@code null} если студента нет
+     * @return копия студента или {@code null}, если студента нет
+     */
+    public CompletableFuture<Student> getByIdAsync(Integer id, Function<Integer, CompletableFuture<Student>> loader) {
+        return studentsById.get(id, (key, executor) -> loader.apply(key)
+                        .thenApply(loaded -> loaded != null ? loaded.copy() : null))
+                .thenApply(student -> student != null ? student.copy() : null);
+    }
+
+    /**
+     * Версия студента, если он уже загружен в кэш.
+     *
+     * @param id ИД студента
+     * @return версия студента или {@code null}, если студента нет в кэше или он еще загружается
+     */
+    public Long getVersionIfPresent(Integer id) {
+        CompletableFuture<Student> student = studentsById.getIfPresent(id);
+        if (student == null || !student.isDone() || student.isCompletedExceptionally()) {
+            return null;
+        }
+        Student loaded = student.join();
+        return loaded != null ? loaded.getVersion() : null;
+    }
+
+    /**
+     * Получение ИД студента по логину.
+     *
+     * @param username логин студента
+     * @param loader   загрузка ИД из БД, возвращает {@code null} если студента нет
+     * @return ИД студента или {@code null}, если студента нет
+     */
+    public Integer getIdByUsername(String username, Function<String, Integer> loader) {
+        return idsByUsername.get(username, key -> {
+            Integer id = loader.apply(key);
+            if (id != null) {
+                usernamesById.put(id, key);
+            }
+            return id;
+        });
+    }
+
+    /**
+     * Сброс соответствия логина и ИД, оказавшегося устаревшим.
+     *
+     * @param username логин студента
+     */
+    public void invalidateUsername(String username) {
+        Integer id = idsByUsername.asMap().remove(username);
+        if (id != null) {
+            usernamesById.remove(id, username);
+        }
+    }
+
+    /**
+     * Сброс студента после изменения.
+     * Если студент в этот момент загружается, результат этой загрузки не попадет в кэш.
+     *
+     * @param id ИД студента
+     */
+    public void invalidate(Integer id) {
+        studentsById.synchronous().invalidate(id);
+        reinvalidate(id);
+    }
+
+    /**
+     * Сброс студента после удаления вместе с соответствием его логина.
+     *
+     * @param id ИД студента
+     */
+    public void invalidateDeleted(Integer id) {
+        studentsById.synchronous().invalidate(id);
+        String username = usernamesById.remove(id);
+        if (username != null) {
+            idsByUsername.asMap().remove(username, id);
+        }
+        reinvalidate(id);
+    }
+
+    /**
+     * Повторный сброс студента после задержки.
+     *
+     * @param id ИД студента
+     */
+    private void reinvalidate(Integer id) {
+        if (reinvalidateExecutor != null) {
+            reinvalidateExecutor.execute(() -> studentsById.synchronous().invalidate(id));
+        }
+    }
+}
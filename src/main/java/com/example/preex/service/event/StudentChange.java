@@ -0,0 +1,34 @@
+package com.example.preex.service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Запись ленты изменений студентов, см. {@link StudentChangeFeed}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentChange {
+
+    /**
+     * Номер изменения в ленте, начиная с 1.
+     */
+    private long sequence;
+
+    /**
+     * Вид изменения.
+     */
+    private StudentChangedEvent.Type type;
+
+    /**
+     * ИД измененных студентов.
+     */
+    private List<Integer> ids;
+}
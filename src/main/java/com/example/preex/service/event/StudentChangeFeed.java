@@ -0,0 +1,163 @@
+package com.example.preex.service.event;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Лента изменений студентов: последние {@code preex.student-changes.capacity} изменений в кольцевом буфере
+ * с возрастающими номерами.
+ * <p>
+ * Изменения добавляются из {@link StudentChangedEvent} после фиксации транзакции сервиса. Читатели не блокируют
+ * запись и друг друга: каждый хранит номер последнего прочитанного изменения и читает следующие, пока их
+ * не перезаписали. Номера начинаются заново при каждом запуске приложения, поэтому ИД события для клиента
+ * ({@link #eventId(long)}) содержит эпоху - случайный идентификатор запуска: номер из другого запуска не
+ * принимается за позицию в текущей ленте.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class StudentChangeFeed {
+
+    /**
+     * Маска индекса ячейки.
+     */
+    private final int mask;
+
+    /**
+     * Изменения по номеру ячейки.
+     */
+    private final AtomicReferenceArray<StudentChange> changes;
+
+    /**
+     * Эпоха ленты, уникальная для запуска приложения.
+     */
+    private final String epoch = Long.toUnsignedString(UUID.randomUUID().getMostSignificantBits(), 36);
+
+    /**
+     * Обработчики добавления изменений.
+     */
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Номер последнего изменения, 0 - изменений не было.
+     */
+    private volatile long lastSequence;
+
+    /**
+     * Конструктор.
+     *
+     * @param capacity количество хранимых изменений, округляется вверх до степени двойки
+     */
+    public StudentChangeFeed(@Value("${preex.student-changes.capacity:10000}") int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.changes = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Добавление изменения после фиксации транзакции (или сразу, если транзакции нет).
+     *
+     * @param event событие изменения студентов
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        append(event.getType(), event.getIds());
+    }
+
+    /**
+     * Добавление изменения и оповещение обработчиков.
+     *
+     * @param type вид изменения
+     * @param ids  ИД измененных студентов
+     * @return добавленное изменение
+     */
+    public StudentChange append(StudentChangedEvent.Type type, List<Integer> ids) {
+        StudentChange change;
+        synchronized (this) {
+            long sequence = lastSequence + 1;
+            change = new StudentChange(sequence, type, List.copyOf(ids));
+            changes.set((int) (sequence & mask), change);
+            lastSequence = sequence;
+        }
+        listeners.forEach(Runnable::run);
+        return change;
+    }
+
+    /**
+     * Чтение изменений после заданного номера.
+     *
+     * @param after номер последнего прочитанного изменения
+     * @param limit максимальное количество изменений
+     * @return изменения по возрастанию номера или {@code null}, если следующие за {@code after} изменения уже
+     * перезаписаны или номер больше последнего (например, получен до перезапуска приложения)
+     */
+    public List<StudentChange> read(long after, int limit) {
+        long last = lastSequence;
+        if (after < 0 || after > last) {
+            return null;
+        }
+        List<StudentChange> result = new ArrayList<>((int) Math.min(limit, last - after));
+        for (long sequence = after + 1; sequence <= last && result.size() < limit; sequence++) {
+            StudentChange change = changes.get((int) (sequence & mask));
+            if (change == null || change.getSequence() != sequence) {
+                return null;
+            }
+            result.add(change);
+        }
+        return result;
+    }
+
+    /**
+     * Номер последнего изменения.
+     *
+     * @return номер, 0 - изменений не было
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * ИД события для клиента: эпоха и номер изменения.
+     *
+     * @param sequence номер изменения
+     * @return ИД события в виде {@code <эпоха>-<номер>}
+     */
+    public String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * Номер изменения по ИД события, полученному клиентом.
+     *
+     * @param eventId ИД события
+     * @return номер изменения или -1, если ИД получен в другом запуске приложения или имеет неверный формат
+     */
+    public long sequenceOf(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Регистрация обработчика, вызываемого после добавления каждого изменения в потоке записи.
+     *
+     * @param listener обработчик
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+}
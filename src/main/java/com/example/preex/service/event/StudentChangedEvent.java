@@ -0,0 +1,46 @@
+package com.example.preex.service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Событие изменения студентов через {@link com.example.preex.service.StudentService}.
+ * Публикуется после записи изменений в БД.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Data
+@AllArgsConstructor
+public class StudentChangedEvent {
+
+    /**
+     * Вид изменения.
+     */
+    private Type type;
+
+    /**
+     * ИД измененных студентов.
+     */
+    private List<Integer> ids;
+
+    /**
+     * Вид изменения студентов.
+     */
+    public enum Type {
+        /**
+         * Студенты созданы.
+         */
+        CREATED,
+        /**
+         * Студенты изменены.
+         */
+        UPDATED,
+        /**
+         * Студенты удалены.
+         */
+        DELETED
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.preex.service.loader;
+
+import com.example.preex.model.Student;
+import com.example.preex.repository.StudentRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Загрузчик студентов по ИД, объединяющий конкурентные запросы в один запрос к БД.
+ * <p>
+ * ИД, запрошенные в течение короткого окна, собираются в пакет и загружаются одним {@code IN}-запросом.
+ * Пакет отправляется раньше окончания окна, если набрал максимальный размер.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class StudentBatchLoader implements DisposableBean {
+
+    /**
+     * Репозиторий студентов.
+     */
+    private final StudentRepository studentRepository;
+
+    /**
+     * Окно сбора пакета.
+     */
+    private final Duration window;
+
+    /**
+     * Максимальный размер пакета.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Исполнитель загрузок пакетов.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Собираемый пакет: ожидаемые результаты по ИД. {@code null}, если пакет еще не начат.
+     */
+    private Map<Integer, CompletableFuture<Student>> pending;
+
+    /**
+     * Конструктор.
+     *
+     * @param studentRepository репозиторий студентов
+     * @param window            окно сбора пакета
+     * @param maxBatchSize      максимальный размер пакета
+     * @param threads           количество потоков загрузки
+     */
+    public StudentBatchLoader(StudentRepository studentRepository,
+                              @Value("${preex.student-batch-loader.window:2ms}") Duration window,
+                              @Value("${preex.student-batch-loader.max-batch-size:100}") int maxBatchSize,
+                              @Value("${preex.student-batch-loader.threads:4}") int threads) {
+        this.studentRepository = studentRepository;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "student-batch-loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Загрузка студента по ИД в составе ближайшего пакета.
+     *
+     * @param id ИД студента
+     * @return студент или {@code null}, если студента нет
+     */
+    public CompletableFuture<Student> load(Integer id) {
+        if (id == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Map<Integer, CompletableFuture<Student>> full = null;
+        CompletableFuture<Student> result;
+        synchronized (this) {
+            if (pending == null) {
+                Map<Integer, CompletableFuture<Student>> batch = new HashMap<>();
+                pending = batch;
+                executor.schedule(() -> dispatchIfPending(batch), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            result = pending.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = null;
+            }
+        }
+        if (full != null) {
+            Map<Integer, CompletableFuture<Student>> batch = full;
+            executor.execute(() -> dispatch(batch));
+        }
+        return result;
+    }
+
+    /**
+     * Отправка пакета по окончании окна, если он не был отправлен раньше по размеру.
+     *
+     * @param batch пакет
+     */
+    private void dispatchIfPending(Map<Integer, CompletableFuture<Student>> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * Загрузка пакета одним запросом и завершение ожидающих результатов.
+     *
+     * @param batch пакет
+     */
+    private void dispatch(Map<Integer, CompletableFuture<Student>> batch) {
+        try {
+            Map<Integer, Student> students = new HashMap<>();
+            studentRepository.findAllById(batch.keySet()).forEach(student -> students.put(student.getId(), student));
+            batch.forEach((id, result) -> result.complete(students.get(id)));
+        } catch (RuntimeException e) {
+            batch.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
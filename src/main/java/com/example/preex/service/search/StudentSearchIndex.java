@@ -0,0 +1,498 @@
+package com.example.preex.service.search;
+
+import com.example.preex.model.Student;
+import com.example.preex.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Индекс для поиска студентов по имени, фамилии, e-mail и логину.
+ * <p>
+ * Значения полей разбиваются на слова, каждое слово с префиксом {@code $$} - на триграммы, по триграммам строится
+ * обратный индекс. Кандидаты для слова запроса отбираются по количеству общих триграмм с учетом допустимых опечаток,
+ * затем ранжируются: точное совпадение слова, префикс, подстрока поля, слово или префикс с опечатками. Опечатки
+ * допускаются, если совпадает первая буква слова. Все слова запроса должны совпасть.
+ * <p>
+ * Индекс строится при запуске приложения и обновляется сервисом студентов при создании, изменении и удалении.
+ * Изменения записываются последовательно, поиск выполняется без блокировок.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class StudentSearchIndex implements SmartInitializingSingleton {
+
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(StudentSearchIndex.class);
+
+    /**
+     * Префикс слова: триграммы с ним отмечают начало слова и позволяют искать по первым одному-двум символам.
+     */
+    private static final String WORD_START = "$$";
+
+    /**
+     * Оценка точного совпадения слова.
+     */
+    private static final int EXACT_SCORE = 100;
+
+    /**
+     * Оценка совпадения префикса слова.
+     */
+    private static final int PREFIX_SCORE = 60;
+
+    /**
+     * Оценка совпадения подстроки поля.
+     */
+    private static final int SUBSTRING_SCORE = 40;
+
+    /**
+     * Оценка слова с опечатками, уменьшается на {@link #EDIT_PENALTY} за каждую опечатку.
+     */
+    private static final int FUZZY_SCORE = 30;
+
+    /**
+     * Оценка префикса слова с опечатками, уменьшается на {@link #EDIT_PENALTY} за каждую опечатку.
+     */
+    private static final int FUZZY_PREFIX_SCORE = 20;
+
+    /**
+     * Штраф за опечатку.
+     */
+    private static final int EDIT_PENALTY = 5;
+
+    /**
+     * Репозиторий студентов.
+     */
+    private final StudentRepository studentRepository;
+
+    /**
+     * Менеджер сущностей.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Менеджер транзакций.
+     */
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Проиндексированные студенты по ИД.
+     */
+    private final Map<Integer, Document> documents = new ConcurrentHashMap<>();
+
+    /**
+     * ИД студентов по триграмме.
+     */
+    private final Map<String, Set<Integer>> postings = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор.
+     *
+     * @param studentRepository  репозиторий студентов
+     * @param entityManager      менеджер сущностей
+     * @param transactionManager менеджер транзакций
+     */
+    public StudentSearchIndex(StudentRepository studentRepository, EntityManager entityManager,
+                              PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.entityManager = entityManager;
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Построение индекса до начала приема запросов.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Student> students = studentRepository.streamAllOrderById()) {
+                students.forEach(student -> {
+                    put(student);
+                    entityManager.detach(student);
+                });
+            }
+        });
+        LOG.info("Student search index built: {} students in {} ms", documents.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Добавление или замена студента в индексе.
+     *
+     * @param student студент
+     */
+    public synchronized void put(Student student) {
+        if (student.getId() == null) {
+            return;
+        }
+        Document document = new Document(student.getFirstname(), student.getLastname(),
+                student.getMail(), student.getUsername());
+        Document previous = documents.put(student.getId(), document);
+        Set<String> previousGrams = previous != null ? previous.grams() : Set.of();
+        Set<String> grams = document.grams();
+        for (String gram : previousGrams) {
+            if (!grams.contains(gram)) {
+                removePosting(gram, student.getId());
+            }
+        }
+        for (String gram : grams) {
+            if (!previousGrams.contains(gram)) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(student.getId());
+            }
+        }
+    }
+
+    /**
+     * Применение частичного обновления студента: заполненные имя, фамилия и e-mail заменяют проиндексированные.
+     * Логин частичным обновлением не изменяется, поэтому остается проиндексированный.
+     *
+     * @param patch изменения студента
+     */
+    public synchronized void merge(Student patch) {
+        Document document = documents.get(patch.getId());
+        if (document == null) {
+            return;
+        }
+        Student student = new Student();
+        student.setId(patch.getId());
+        student.setFirstname(patch.getFirstname() != null ? patch.getFirstname() : document.original[0]);
+        student.setLastname(patch.getLastname() != null ? patch.getLastname() : document.original[1]);
+        student.setMail(patch.getMail() != null ? patch.getMail() : document.original[2]);
+        student.setUsername(document.original[3]);
+        put(student);
+    }
+
+    /**
+     * Удаление студента из индекса.
+     *
+     * @param id ИД студента
+     */
+    public synchronized void remove(Integer id) {
+        Document document = documents.remove(id);
+        if (document != null) {
+            document.grams().forEach(gram -> removePosting(gram, id));
+        }
+    }
+
+    /**
+     * Поиск студентов.
+     *
+     * @param query  строка поиска
+     * @param offset количество пропускаемых результатов
+     * @param limit  максимальное количество результатов
+     * @return ИД найденных студентов в порядке убывания релевантности
+     */
+    public Result search(String query, int offset, int limit) {
+        String[] terms = words(query);
+        if (terms.length == 0) {
+            return new Result(List.of(), 0);
+        }
+        Map<Integer, Integer> scores = null;
+        for (String term : terms) {
+            Map<Integer, Integer> termScores = scoreTerm(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        // Отбор лучших offset + limit результатов без сортировки всех найденных
+        Comparator<Map.Entry<Integer, Integer>> ranking = Map.Entry.<Integer, Integer>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+        int top = (int) Math.min((long) offset + limit, scores.size());
+        PriorityQueue<Map.Entry<Integer, Integer>> best = new PriorityQueue<>(Math.max(1, top), ranking);
+        for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+            if (best.size() < top) {
+                best.add(entry);
+            } else if (top > 0 && ranking.compare(entry, best.peek()) > 0) {
+                best.poll();
+                best.add(entry);
+            }
+        }
+        List<Integer> ids = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ids.add(best.poll().getKey());
+        }
+        Collections.reverse(ids);
+        ids = ids.subList(Math.min(offset, ids.size()), ids.size());
+        return new Result(ids, scores.size());
+    }
+
+    /**
+     * Количество проиндексированных студентов.
+     *
+     * @return количество студентов
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Оценка студентов по одному слову запроса.
+     *
+     * @param term слово запроса
+     * @return оценки совпавших студентов по ИД
+     */
+    private Map<Integer, Integer> scoreTerm(String term) {
+        int maxEdits = term.length() < 3 ? 0 : term.length() <= 5 ? 1 : 2;
+        Set<String> grams = grams(term);
+        // Одна опечатка меняет не больше трех триграмм
+        int minHits = Math.max(1, grams.size() - 3 * maxEdits);
+        Map<Integer, int[]> hits = new HashMap<>();
+        for (String gram : grams) {
+            Set<Integer> ids = postings.get(gram);
+            if (ids != null) {
+                ids.forEach(id -> hits.computeIfAbsent(id, key -> new int[1])[0]++);
+            }
+        }
+        Map<Integer, Integer> scores = new HashMap<>();
+        hits.forEach((id, count) -> {
+            Document document = count[0] >= minHits ? documents.get(id) : null;
+            int score = document != null ? document.score(term, maxEdits) : 0;
+            if (score > 0) {
+                scores.put(id, score);
+            }
+        });
+        return scores;
+    }
+
+    /**
+     * Удаление ИД студента из списка триграммы.
+     *
+     * @param gram триграмма
+     * @param id   ИД студента
+     */
+    private void removePosting(String gram, Integer id) {
+        Set<Integer> ids = postings.get(gram);
+        if (ids != null) {
+            ids.remove(id);
+        }
+    }
+
+    /**
+     * Разбиение строки на слова в нижнем регистре.
+     *
+     * @param value строка
+     * @return слова
+     */
+    static String[] words(String value) {
+        if (value == null) {
+            return new String[0];
+        }
+        return Arrays.stream(value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Триграммы слова с префиксом начала слова.
+     *
+     * @param word слово
+     * @return триграммы
+     */
+    static Set<String> grams(String word) {
+        String padded = WORD_START + word;
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Расстояние Левенштейна от слова запроса до слова и до ближайшего префикса слова, ограниченное сверху.
+     *
+     * @param term слово запроса
+     * @param word слово
+     * @param max  максимальное интересующее расстояние
+     * @return расстояние до слова в младших 16 битах, до префикса - в старших;
+     * {@code max + 1}, если расстояние больше {@code max}
+     */
+    static int distance(String term, String word, int max) {
+        int[] previous = new int[word.length() + 1];
+        int[] current = new int[word.length() + 1];
+        for (int j = 0; j <= word.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= term.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char termChar = term.charAt(i - 1);
+            for (int j = 1; j <= word.length(); j++) {
+                int substitution = previous[j - 1] + (termChar == word.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return (max + 1) << 16 | (max + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        // Последняя строка: расстояния от всего слова запроса до каждого префикса слова
+        int prefixDistance = max + 1;
+        for (int j = 0; j <= word.length(); j++) {
+            prefixDistance = Math.min(prefixDistance, previous[j]);
+        }
+        return prefixDistance << 16 | Math.min(previous[word.length()], max + 1);
+    }
+
+    /**
+     * Проиндексированный студент.
+     */
+    private static final class Document {
+
+        /**
+         * Исходные значения полей: имя, фамилия, e-mail, логин.
+         */
+        final String[] original;
+
+        /**
+         * Значения полей в нижнем регистре.
+         */
+        final String[] values;
+
+        /**
+         * Различные слова всех полей.
+         */
+        final String[] words;
+
+        /**
+         * Конструктор.
+         *
+         * @param fields значения полей
+         */
+        Document(String... fields) {
+            this.original = fields;
+            this.values = new String[fields.length];
+            Set<String> uniqueWords = new LinkedHashSet<>();
+            for (int i = 0; i < fields.length; i++) {
+                values[i] = fields[i] != null ? fields[i].toLowerCase(Locale.ROOT) : "";
+                uniqueWords.addAll(Arrays.asList(StudentSearchIndex.words(fields[i])));
+            }
+            this.words = uniqueWords.toArray(String[]::new);
+        }
+
+        /**
+         * Триграммы всех слов студента.
+         *
+         * @return триграммы
+         */
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (String word : words) {
+                grams.addAll(StudentSearchIndex.grams(word));
+            }
+            return grams;
+        }
+
+        /**
+         * Оценка совпадения со словом запроса: лучшая по всем полям.
+         *
+         * @param term     слово запроса
+         * @param maxEdits допустимое количество опечаток
+         * @return оценка, 0 - нет совпадения
+         */
+        int score(String term, int maxEdits) {
+            int best = 0;
+            for (String word : words) {
+                if (word.equals(term)) {
+                    return EXACT_SCORE;
+                }
+                if (word.startsWith(term)) {
+                    best = PREFIX_SCORE;
+                }
+            }
+            if (best > 0) {
+                return best;
+            }
+            for (String value : values) {
+                if (value.contains(term)) {
+                    return SUBSTRING_SCORE;
+                }
+            }
+            if (maxEdits == 0) {
+                return 0;
+            }
+            for (String word : words) {
+                if (word.charAt(0) != term.charAt(0) || word.length() < term.length() - maxEdits) {
+                    continue;
+                }
+                int distances = distance(term, word, maxEdits);
+                int wordEdits = distances & 0xFFFF;
+                int prefixEdits = distances >>> 16;
+                if (wordEdits <= maxEdits) {
+                    best = Math.max(best, FUZZY_SCORE - EDIT_PENALTY * wordEdits);
+                } else if (prefixEdits <= maxEdits) {
+                    best = Math.max(best, FUZZY_PREFIX_SCORE - EDIT_PENALTY * prefixEdits);
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Результат поиска.
+     */
+    public static final class Result {
+
+        /**
+         * ИД студентов страницы в порядке убывания релевантности.
+         */
+        private final List<Integer> ids;
+
+        /**
+         * Общее количество найденных студентов.
+         */
+        private final int total;
+
+        /**
+         * Конструктор.
+         *
+         * @param ids   ИД студентов страницы
+         * @param total общее количество найденных студентов
+         */
+        Result(List<Integer> ids, int total) {
+            this.ids = new ArrayList<>(ids);
+            this.total = total;
+        }
+
+        public List<Integer> getIds() {
+            return ids;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+}
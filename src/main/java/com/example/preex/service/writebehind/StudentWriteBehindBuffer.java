@@ -0,0 +1,379 @@
+package com.example.preex.service.writebehind;
+
+import com.example.preex.model.Student;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToIntFunction;
+
+/**
+ * Буфер отложенной записи (write-behind) изменений студентов.
+ * <p>
+ * Изменения одного студента объединяются по полям (более позднее непустое поле заменяет раннее), как при
+ * {@code StudentService#updateStudent}, и записываются пакетами по {@code preex.write-behind.batch-size} студентов
+ * раз в {@code preex.write-behind.flush-interval} или сразу, как только набрался пакет. Запись пакета выполняет
+ * обработчик, заданный сервисом. Пока изменение не записано, оно накладывается на студента при чтении по ИД.
+ * При остановке приложения (после остановки веб-сервера) оставшиеся изменения записываются; при аварийном
+ * завершении процесса они теряются.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+@Component
+public class StudentWriteBehindBuffer implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StudentWriteBehindBuffer.class);
+
+    /**
+     * Признак включения отложенной записи.
+     */
+    private final boolean enabled;
+
+    /**
+     * Интервал записи изменений.
+     */
+    private final Duration flushInterval;
+
+    /**
+     * Количество студентов в пакете записи.
+     */
+    private final int batchSize;
+
+    /**
+     * Максимальное количество студентов с ожидающими изменениями.
+     */
+    private final int maxPending;
+
+    /**
+     * Ожидающие записи изменения по ИД студента.
+     */
+    private final Map<Integer, Student> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Записываемый пакет изменений по ИД студента.
+     */
+    private volatile Map<Integer, Student> writing = Map.of();
+
+    /**
+     * Блокировка записи: пакеты записываются по одному.
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * Признак запланированной внеочередной записи.
+     */
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /**
+     * Счетчик изменений, объединенных с ожидающими.
+     */
+    private final Counter coalescedCounter;
+
+    /**
+     * Счетчик записанных студентов.
+     */
+    private final Counter writtenCounter;
+
+    /**
+     * Счетчик отброшенных изменений (студент удален или нарушено ограничение БД).
+     */
+    private final Counter droppedCounter;
+
+    /**
+     * Запись пакета изменений, возвращает количество отброшенных изменений.
+     */
+    private volatile ToIntFunction<List<Student>> writer;
+
+    /**
+     * Исполнитель периодической записи.
+     */
+    private volatile ScheduledExecutorService executor;
+
+    /**
+     * Признак работы буфера.
+     */
+    private volatile boolean running;
+
+    /**
+     * Конструктор.
+     *
+     * @param enabled       признак включения отложенной записи
+     * @param flushInterval интервал записи изменений
+     * @param batchSize     количество студентов в пакете записи
+     * @param maxPending    максимальное количество студентов с ожидающими изменениями
+     * @param meterRegistry реестр метрик
+     */
+    public StudentWriteBehindBuffer(@Value("${preex.write-behind.enabled:false}") boolean enabled,
+                                    @Value("${preex.write-behind.flush-interval:100ms}") Duration flushInterval,
+                                    @Value("${preex.write-behind.batch-size:100}") int batchSize,
+                                    @Value("${preex.write-behind.max-pending:10000}") int maxPending,
+                                    MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.coalescedCounter = meterRegistry.counter("preex.write-behind.coalesced");
+        this.writtenCounter = meterRegistry.counter("preex.write-behind.written");
+        this.droppedCounter = meterRegistry.counter("preex.write-behind.dropped");
+        Gauge.builder("preex.write-behind.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Признак включения отложенной записи.
+     *
+     * @return {@code true}, если отложенная запись включена
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Установка записи пакета изменений. Запись выполняется под блокировкой буфера и возвращает количество
+     * отброшенных изменений; при исключении пакет остается в буфере и записывается повторно.
+     *
+     * @param writer запись пакета изменений
+     */
+    public void setWriter(ToIntFunction<List<Student>> writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Объединение изменений студента с ожидающими записи. Учитываются имя, фамилия и e-mail.
+     *
+     * @param patch изменения студента с ИД
+     * @return {@code true}, если изменения приняты; {@code false}, если отложенная запись выключена, буфер
+     * остановлен или переполнен и изменения нужно записать сразу
+     */
+    public boolean merge(Student patch) {
+        if (!enabled || !running || patch.getId() == null) {
+            return false;
+        }
+        Integer id = patch.getId();
+        if (pending.size() >= maxPending && !pending.containsKey(id)) {
+            requestFlush();
+            return false;
+        }
+        pending.merge(id, apply(newPatch(id), patch), (previous, next) -> {
+            coalescedCounter.increment();
+            return apply(apply(newPatch(id), previous), next);
+        });
+        if (pending.size() >= batchSize) {
+            requestFlush();
+        }
+        return true;
+    }
+
+    /**
+     * Наложение ожидающих записи изменений на студента.
+     *
+     * @param student студент, изменяется на месте; может быть {@code null}
+     * @return тот же студент
+     */
+    public Student overlay(Student student) {
+        if (student == null || pending.isEmpty() && writing.isEmpty()) {
+            return student;
+        }
+        Student written = writing.get(student.getId());
+        if (written != null) {
+            apply(student, written);
+        }
+        Student update = pending.get(student.getId());
+        if (update != null) {
+            apply(student, update);
+        }
+        return student;
+    }
+
+    /**
+     * Признак ожидающих записи изменений студента.
+     *
+     * @param id ИД студента
+     * @return {@code true}, если изменения студента еще не записаны
+     */
+    public boolean isPending(Integer id) {
+        return id != null && (pending.containsKey(id) || writing.containsKey(id));
+    }
+
+    /**
+     * Запись ожидающих изменений студента перед обновлением в обход буфера, чтобы более раннее отложенное
+     * изменение не перезаписало более позднее. Ожидает окончания записи пакета, в который входит студент.
+     *
+     * @param id ИД студента
+     */
+    public void flush(Integer id) {
+        if (!isPending(id)) {
+            return;
+        }
+        synchronized (writeLock) {
+            Student update = pending.get(id);
+            if (update != null) {
+                write(Map.of(id, update));
+            }
+        }
+    }
+
+    /**
+     * Запись всех ожидающих изменений. Изменения, поступающие во время записи, записываются следующей записью.
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            int batches = (pending.size() + batchSize - 1) / batchSize;
+            for (int i = 0; i < batches && !pending.isEmpty(); i++) {
+                Map<Integer, Student> batch = new LinkedHashMap<>();
+                for (Map.Entry<Integer, Student> entry : pending.entrySet()) {
+                    batch.put(entry.getKey(), entry.getValue());
+                    if (batch.size() == batchSize) {
+                        break;
+                    }
+                }
+                write(batch);
+            }
+        }
+    }
+
+    /**
+     * Запись пакета. Изменения удаляются из ожидающих только после записи и только если за это время не были
+     * объединены с новыми, поэтому чтение по ИД видит их до сброса кэша студентов.
+     *
+     * @param batch пакет изменений по ИД студента
+     */
+    private void write(Map<Integer, Student> batch) {
+        ToIntFunction<List<Student>> batchWriter = writer;
+        if (batchWriter == null) {
+            return;
+        }
+        writing = batch;
+        try {
+            int dropped = batchWriter.applyAsInt(new ArrayList<>(batch.values()));
+            batch.forEach(pending::remove);
+            writtenCounter.increment(batch.size() - dropped);
+            droppedCounter.increment(dropped);
+        } finally {
+            writing = Map.of();
+        }
+    }
+
+    /**
+     * Запись всех ожидающих изменений с записью ошибки в журнал.
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOG.warn("Writing {} deferred student updates failed, retrying later", pending.size(), e);
+        }
+    }
+
+    /**
+     * Внеочередная запись, если она еще не запланирована.
+     */
+    private void requestFlush() {
+        ScheduledExecutorService flushExecutor = executor;
+        if (flushExecutor != null && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushRequested.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * Пустые изменения студента. Ожидающие изменения не изменяются на месте, так как их читают без блокировки.
+     *
+     * @param id ИД студента
+     * @return изменения без полей
+     */
+    private static Student newPatch(Integer id) {
+        Student patch = new Student();
+        patch.setId(id);
+        return patch;
+    }
+
+    /**
+     * Наложение непустых изменяемых полей.
+     *
+     * @param target изменяемый студент
+     * @param patch  изменения
+     * @return изменяемый студент
+     */
+    private static Student apply(Student target, Student patch) {
+        if (patch.getFirstname() != null) {
+            target.setFirstname(patch.getFirstname());
+        }
+        if (patch.getLastname() != null) {
+            target.setLastname(patch.getLastname());
+        }
+        if (patch.getMail() != null) {
+            target.setMail(patch.getMail());
+        }
+        return target;
+    }
+
+    @Override
+    public void start() {
+        if (enabled) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "student-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toNanos(), flushInterval.toNanos(),
+                    TimeUnit.NANOSECONDS);
+        }
+        running = true;
+    }
+
+    /**
+     * Остановка приема изменений и запись оставшихся.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        ScheduledExecutorService flushExecutor = executor;
+        if (flushExecutor == null) {
+            return;
+        }
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(flushInterval.toMillis() + 10_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        flushQuietly();
+        if (!pending.isEmpty()) {
+            LOG.error("{} deferred student updates were not written on shutdown", pending.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Фаза ниже фаз веб-сервера: буфер останавливается после того, как перестали поступать запросы.
+     *
+     * @return фаза жизненного цикла
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
@@ -0,0 +1,16 @@
+-- Исходная схема, ранее создававшаяся Hibernate (ddl-auto=update).
+-- Существующие БД отмечаются этой версией без выполнения скрипта (spring.flyway.baseline-on-migrate).
+create sequence if not exists hibernate_sequence start 1 increment 1;
+
+create table if not exists student
+(
+    id                  int4         not null,
+    account_non_expired boolean,
+    firstname           varchar(255) not null,
+    lastname            varchar(255) not null,
+    mail                varchar(255) not null,
+    password            varchar(255) not null,
+    username            varchar(255) not null,
+    primary key (id),
+    constraint unique_mail unique (mail)
+);
@@ -0,0 +1,11 @@
+-- Индексы для поиска студентов, см. StudentRepository и StudentQueryPlanCheck.
+-- Перед применением на существующей БД дубликаты логинов нужно устранить, иначе миграция завершится ошибкой.
+
+-- findStudentByUsername, findIdByUsername; вход по логину
+alter table student add constraint unique_username unique (username);
+
+-- findStudentByFirstname и поиск по имени и фамилии
+create index student_firstname_lastname_idx on student (firstname, lastname);
+
+-- Выборка студентов с истекшим аккаунтом: таких мало, частичный индекс почти не занимает места
+create index student_expired_idx on student (id) where account_non_expired = false;
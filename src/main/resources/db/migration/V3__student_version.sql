@@ -0,0 +1,3 @@
+-- Версия студента для условных запросов (ETag) и оптимистической блокировки при обновлении.
+-- Значение по умолчанию заполняет существующие строки без отдельного update.
+alter table student add column version bigint not null default 0;
@@ -0,0 +1,140 @@
+package com.example.preex;
+
+import com.example.preex.repository.aspect.DatabaseConcurrencyAspect;
+import com.example.preex.repository.aspect.DatabaseLatencyMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест ограничения одновременных обращений к БД {@link DatabaseConcurrencyAspect}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+class DatabaseConcurrencyAspectTests {
+
+    /**
+     * Обработчик с одним разрешением.
+     */
+    private final DatabaseConcurrencyAspect aspect =
+            new DatabaseConcurrencyAspect(true, 1, Duration.ofMillis(50),
+                    new DatabaseLatencyMonitor(0.1, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+
+    /**
+     * Тест отказа при занятом разрешении и освобождения разрешения после вызова.
+     *
+     * @throws Throwable ошибка
+     */
+    @Test
+    public void rejectsWhenPermitsAreExhaustedTest() throws Throwable {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slowCall = mock(ProceedingJoinPoint.class);
+        when(slowCall.proceed()).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "slow";
+        });
+        ProceedingJoinPoint fastCall = mock(ProceedingJoinPoint.class);
+        when(fastCall.proceed()).thenReturn("fast");
+
+        // when
+        CompletableFuture<Object> slowResult = CompletableFuture.supplyAsync(() -> {
+            try {
+                return aspect.limitConcurrency(slowCall);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThatThrownBy(() -> aspect.limitConcurrency(fastCall))
+                .isInstanceOf(DatabaseConcurrencyAspect.DatabaseBusyException.class);
+        release.countDown();
+        assertThat(slowResult.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+        assertThat(aspect.limitConcurrency(fastCall)).isEqualTo("fast");
+    }
+
+    /**
+     * Тест удержания разрешения до закрытия потока, возвращенного репозиторием.
+     *
+     * @throws Throwable ошибка
+     */
+    @Test
+    public void holdsPermitUntilStreamIsClosedTest() throws Throwable {
+        // given
+        ProceedingJoinPoint streamCall = mock(ProceedingJoinPoint.class);
+        when(streamCall.proceed()).thenAnswer(invocation -> Stream.of("first", "second"));
+        ProceedingJoinPoint fastCall = mock(ProceedingJoinPoint.class);
+        when(fastCall.proceed()).thenReturn("fast");
+
+        // when
+        Stream<?> stream = (Stream<?>) aspect.limitConcurrency(streamCall);
+
+        // then
+        assertThatThrownBy(() -> aspect.limitConcurrency(fastCall))
+                .isInstanceOf(DatabaseConcurrencyAspect.DatabaseBusyException.class);
+        assertThat(stream.count()).isEqualTo(2);
+        stream.close();
+        stream.close();
+        assertThat(aspect.limitConcurrency(fastCall)).isEqualTo("fast");
+    }
+
+    /**
+     * Тест вызова репозитория в транзакции с уже полученным разрешением без повторного запроса разрешения.
+     *
+     * @throws Throwable ошибка
+     */
+    @Test
+    public void nestedCallReusesPermitTest() throws Throwable {
+        // given
+        ProceedingJoinPoint repositoryCall = mock(ProceedingJoinPoint.class);
+        when(repositoryCall.proceed()).thenReturn("repository");
+        ProceedingJoinPoint transactionCall = mock(ProceedingJoinPoint.class);
+        when(transactionCall.proceed()).thenAnswer(invocation -> aspect.limitConcurrency(repositoryCall));
+
+        // when
+        Object result = aspect.limitConcurrency(transactionCall);
+
+        // then
+        assertThat(result).isEqualTo("repository");
+        assertThat(aspect.limitConcurrency(repositoryCall)).isEqualTo("repository");
+    }
+
+    /**
+     * Тест вызова без ограничения, если оно выключено.
+     *
+     * @throws Throwable ошибка
+     */
+    @Test
+    public void disabledDoesNotLimitTest() throws Throwable {
+        // given
+        DatabaseConcurrencyAspect disabled = new DatabaseConcurrencyAspect(false, 1, Duration.ofMillis(50),
+                new DatabaseLatencyMonitor(0.1, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        ProceedingJoinPoint streamCall = mock(ProceedingJoinPoint.class);
+        when(streamCall.proceed()).thenAnswer(invocation -> Stream.of("first"));
+        ProceedingJoinPoint fastCall = mock(ProceedingJoinPoint.class);
+        when(fastCall.proceed()).thenReturn("fast");
+
+        // when
+        Object stream = disabled.limitConcurrency(streamCall);
+
+        // then
+        assertThat(stream).isInstanceOf(Stream.class);
+        assertThat(disabled.limitConcurrency(fastCall)).isEqualTo("fast");
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.preex;
+
+import com.example.preex.controller.request.IdempotencyFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.preex.controller.StudentController.PATH_STUDENT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тест фильтра повторных запросов {@link IdempotencyFilter}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+class IdempotencyFilterTests {
+
+    /**
+     * Фильтр повторных запросов к студентам.
+     */
+    private final IdempotencyFilter idempotencyFilter = new IdempotencyFilter(List.of(PATH_STUDENT, PATH_STUDENT + "/*"),
+            Set.of("POST", "PUT"), 100, Duration.ofMinutes(1), DataSize.ofKilobytes(1), Duration.ofSeconds(5),
+            new SimpleMeterRegistry());
+
+    /**
+     * Количество выполнений запроса.
+     */
+    private final AtomicInteger executions = new AtomicInteger();
+
+    /**
+     * Тест повтора сохраненного ответа и отказа для другого тела с тем же ключом.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void replaysStoredResponseTest() throws Exception {
+        // given
+        FilterChain chain = createdChain(null);
+        idempotencyFilter.doFilter(request("key", "{\"mail\":\"a\"}"), new MockHttpServletResponse(), chain);
+
+        // when
+        MockHttpServletResponse replayed = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request("key", "{\"mail\":\"a\"}"), replayed, chain);
+        MockHttpServletResponse otherBody = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request("key", "{\"mail\":\"b\"}"), otherBody, chain);
+        // then
+        assertThat(executions).hasValue(1);
+        assertThat(replayed.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+        assertThat(replayed.getContentAsString()).isEqualTo("Student is created from {\"mail\":\"a\"}");
+        assertThat(replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(otherBody.getStatus()).isEqualTo(422);
+    }
+
+    /**
+     * Тест ожидания повтором ответа на выполняющийся запрос с тем же ключом.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void concurrentDuplicateWaitsForFirstResponseTest() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = createdChain(release);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            responses.add(executor.submit(() -> {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                idempotencyFilter.doFilter(request("concurrent", "{}"), response, chain);
+                return response;
+            }));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        // then
+        for (Future<MockHttpServletResponse> response : responses) {
+            assertThat(response.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+        }
+        assertThat(executions).hasValue(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Цепочка, создающая студента из тела запроса.
+     *
+     * @param release разрешение завершить запрос или {@code null}
+     * @return цепочка фильтров
+     */
+    private FilterChain createdChain(CountDownLatch release) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+            ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_CREATED);
+            response.setContentType("text/plain");
+            response.getWriter().write("Student is created from " + body);
+        };
+    }
+
+    /**
+     * Запрос создания студента с ключом.
+     *
+     * @param key  ключ повторяемого запроса
+     * @param body тело запроса
+     * @return запрос
+     */
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH_STUDENT);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
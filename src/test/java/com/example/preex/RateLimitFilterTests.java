@@ -0,0 +1,107 @@
+package com.example.preex;
+
+import com.example.preex.repository.aspect.DatabaseLatencyMonitor;
+import com.example.preex.security.RateLimitFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.preex.controller.StudentController.PATH_STUDENT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тест ограничения частоты запросов {@link RateLimitFilter}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+class RateLimitFilterTests {
+
+    /**
+     * Средняя длительность обращений к БД.
+     */
+    private final DatabaseLatencyMonitor latencyMonitor = new DatabaseLatencyMonitor(1.0, new SimpleMeterRegistry());
+
+    /**
+     * Фильтр: 3 дешевых и 1 дорогой запрос без ожидания, сброс нагрузки при одном запросе и БД медленнее 100 мс.
+     */
+    private final RateLimitFilter rateLimitFilter = new RateLimitFilter(true, 1, 3, 0.1, 1,
+            Duration.ofMillis(100), 0, 1000, latencyMonitor, new SimpleMeterRegistry());
+
+    /**
+     * Тест отдельных бюджетов дешевых и дорогих запросов и ответа 429.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void rejectsWhenBudgetIsExhaustedTest() throws Exception {
+        // when
+        int cheapAccepted = 0;
+        for (int i = 0; i < 5; i++) {
+            if (perform(request("GET", PATH_STUDENT + "/1", "10.0.0.1")).getStatus() == 200) {
+                cheapAccepted++;
+            }
+        }
+        MockHttpServletResponse listing = perform(request("GET", PATH_STUDENT, "10.0.0.1"));
+        MockHttpServletResponse secondListing = perform(request("GET", PATH_STUDENT, "10.0.0.1"));
+        MockHttpServletResponse otherClient = perform(request("GET", PATH_STUDENT, "10.0.0.2"));
+        // then
+        assertThat(cheapAccepted).isEqualTo(3);
+        assertThat(listing.getStatus()).isEqualTo(200);
+        assertThat(secondListing.getStatus()).isEqualTo(429);
+        assertThat(secondListing.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("10");
+        assertThat(otherClient.getStatus()).isEqualTo(200);
+    }
+
+    /**
+     * Тест сброса нагрузки при медленной БД.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void shedsLoadWhenDatabaseIsSlowTest() throws Exception {
+        // given
+        latencyMonitor.record(TimeUnit.SECONDS.toNanos(1));
+
+        // when
+        MockHttpServletResponse response = perform(request("GET", PATH_STUDENT + "/1", "10.0.0.3"));
+        latencyMonitor.record(TimeUnit.MILLISECONDS.toNanos(1));
+        MockHttpServletResponse recovered = perform(request("GET", PATH_STUDENT + "/1", "10.0.0.3"));
+        // then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(recovered.getStatus()).isEqualTo(200);
+    }
+
+    /**
+     * Выполнение запроса через фильтр.
+     *
+     * @param request запрос
+     * @return ответ
+     */
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    /**
+     * Запрос анонимного клиента.
+     *
+     * @param method  метод
+     * @param path    путь
+     * @param address адрес клиента
+     * @return запрос
+     */
+    private static MockHttpServletRequest request(String method, String path, String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(address);
+        return request;
+    }
+}
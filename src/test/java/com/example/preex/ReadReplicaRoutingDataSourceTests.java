@@ -0,0 +1,151 @@
+package com.example.preex;
+
+import com.example.preex.repository.routing.ReadReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тест выбора БД для чтения {@link ReadReplicaRoutingDataSource}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+class ReadReplicaRoutingDataSourceTests {
+
+    /**
+     * Соединение основной БД.
+     */
+    private final Connection primaryConnection = mock(Connection.class);
+
+    /**
+     * Соединение реплики.
+     */
+    private final Connection replicaConnection = mock(Connection.class);
+
+    @AfterEach
+    public void resetReadOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    /**
+     * Тест чтения с реплики только в транзакции только для чтения.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void readOnlyTransactionUsesReplicaTest() throws Exception {
+        // given
+        ReadReplicaRoutingDataSource dataSource = dataSource(replica(0.0));
+
+        // when
+        Connection write = dataSource.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Connection read = dataSource.getConnection();
+        Connection onPrimaryDataSource = ReadReplicaRoutingDataSource.onPrimary(() -> connection(dataSource));
+
+        // then
+        assertThat(write).isSameAs(primaryConnection);
+        assertThat(read).isSameAs(replicaConnection);
+        assertThat(onPrimaryDataSource).isSameAs(primaryConnection);
+    }
+
+    /**
+     * Тест чтения из основной БД при отставании и отказе реплики.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void laggingOrFailedReplicaFallsBackToPrimaryTest() throws Exception {
+        // given
+        DataSource replica = replica(5_000.0);
+        ReadReplicaRoutingDataSource dataSource = dataSource(replica);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when
+        Connection lagging = dataSource.getConnection();
+        when(replica.getConnection()).thenReturn(replicaConnection, replicaConnection)
+                .thenThrow(new SQLException("Connection refused"));
+        mockLag(0.0);
+        dataSource.checkReplicas();
+        Connection caughtUp = dataSource.getConnection();
+        Connection failed = dataSource.getConnection();
+
+        // then
+        assertThat(lagging).isSameAs(primaryConnection);
+        assertThat(caughtUp).isSameAs(replicaConnection);
+        assertThat(failed).isSameAs(primaryConnection);
+    }
+
+    /**
+     * Источник соединений с одной репликой и проверкой реплик только по требованию.
+     *
+     * @param replica реплика
+     * @return источник соединений
+     * @throws SQLException ошибка
+     */
+    private ReadReplicaRoutingDataSource dataSource(DataSource replica) throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReadReplicaRoutingDataSource dataSource = new ReadReplicaRoutingDataSource(primary, List.of(replica),
+                Duration.ofSeconds(1), Duration.ofHours(1));
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    /**
+     * Реплика с заданным отставанием.
+     *
+     * @param lagMillis отставание, мс
+     * @return реплика
+     * @throws SQLException ошибка
+     */
+    private DataSource replica(double lagMillis) throws SQLException {
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        mockLag(lagMillis);
+        return replica;
+    }
+
+    /**
+     * Ответ реплики на запрос отставания.
+     *
+     * @param lagMillis отставание, мс
+     * @throws SQLException ошибка
+     */
+    private void mockLag(double lagMillis) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagMillis);
+    }
+
+    /**
+     * Соединение без проверяемого исключения.
+     *
+     * @param dataSource источник соединений
+     * @return соединение
+     */
+    private static Connection connection(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
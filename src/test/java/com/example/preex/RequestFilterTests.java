@@ -0,0 +1,116 @@
+package com.example.preex;
+
+import com.example.preex.controller.request.CachedBodyRequestWrapper;
+import com.example.preex.controller.request.RequestFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.example.preex.controller.StudentController.PATH_STUDENT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тест фильтра сохранения тела запроса {@link RequestFilter}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+class RequestFilterTests {
+
+    /**
+     * Фильтр, сохраняющий не больше 4 байт тела запросов к студентам.
+     */
+    private final RequestFilter requestFilter = new RequestFilter(List.of(PATH_STUDENT + "/**"), Set.of("POST", "PUT"),
+            DataSize.ofBytes(4), 1);
+
+    /**
+     * Тест сохранения ограниченной части тела для настроенного пути.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void capturesConfiguredPathUpToLimitTest() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", PATH_STUDENT + "/1");
+        request.setContent("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        // when
+        requestFilter.doFilter(request, new MockHttpServletResponse(), chain);
+        CachedBodyRequestWrapper wrapper = (CachedBodyRequestWrapper) chain.getRequest();
+        // then
+        assertThat(wrapper).isNotNull();
+        assertThat(StreamUtils.copyToString(wrapper.getInputStream(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+        assertThat(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("{\"id");
+    }
+
+    /**
+     * Тест пропуска сохранения тела для GET и ненастроенных путей.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void skipsGetAndOtherPathsTest() throws Exception {
+        for (MockHttpServletRequest request : List.of(new MockHttpServletRequest("GET", PATH_STUDENT + "/1"),
+                new MockHttpServletRequest("POST", "/api/other"))) {
+            // when
+            MockFilterChain chain = new MockFilterChain();
+            requestFilter.doFilter(request, new MockHttpServletResponse(), chain);
+            // then
+            assertThat(chain.getRequest()).isSameAs(request);
+        }
+    }
+
+    /**
+     * Тест чтения уже прочитанного тела, в том числе через {@link ReadListener}.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void replayReadsBodyWithReadListenerTest() throws Exception {
+        // given
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        CachedBodyRequestWrapper wrapper = CachedBodyRequestWrapper.replay(
+                new MockHttpServletRequest("PUT", PATH_STUDENT + "/1"), body);
+        ServletInputStream input = wrapper.getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+
+        // when
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(input.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        });
+        // then
+        assertThat(read.toByteArray()).isEqualTo(body);
+        assertThat(allDataRead).isTrue();
+        assertThat(wrapper.getContentLength()).isEqualTo(body.length);
+        assertThat(wrapper.getContentAsByteArray()).isEqualTo(body);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.preex;
+
+import com.example.preex.model.Student;
+import com.example.preex.service.cache.StudentCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тест кэша студентов {@link StudentCache}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+class StudentCacheTests {
+
+    /**
+     * Кэш студентов.
+     */
+    private final StudentCache studentCache = new StudentCache(100, Duration.ofMinutes(1), Duration.ZERO, false,
+            Duration.ZERO, new SimpleMeterRegistry());
+
+    /**
+     * Тест однократной загрузки студента при конкурентных запросах.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void concurrentLoadsHitDatabaseOnceTest() throws Exception {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<Student>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> studentCache.getById(1, id -> {
+                loads.incrementAndGet();
+                return CompletableFuture.supplyAsync(() -> {
+                    awaitUninterruptibly(release);
+                    return createStudent(id);
+                });
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        // then
+        for (Future<Student> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS).getId()).isEqualTo(1);
+        }
+        assertThat(loads).hasValue(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Тест повторного сброса студента не раньше допустимого отставания реплики при чтении с реплик.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void replicaMaxLagReinvalidatesStudentTest() throws Exception {
+        // given
+        StudentCache replicaCache = new StudentCache(100, Duration.ofMinutes(1), Duration.ZERO, true,
+                Duration.ofMillis(100), new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        replicaCache.invalidate(1);
+        replicaCache.getById(1, id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(createStudent(id));
+        });
+        Thread.sleep(300);
+        replicaCache.getById(1, id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(createStudent(id));
+        });
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * Тест сброса студента после изменения.
+     */
+    @Test
+    public void invalidateReloadsStudentTest() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        studentCache.getById(1, id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(createStudent(id));
+        });
+
+        // when
+        Student cached = studentCache.getById(1, id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(createStudent(id));
+        });
+        cached.setMail("changed@mail.ru");
+        // then
+        assertThat(loads).hasValue(1);
+        assertThat(studentCache.getById(1, id -> CompletableFuture.completedFuture(createStudent(id))).getMail()).isEqualTo("test@mail.ru");
+
+        // when
+        studentCache.invalidate(1);
+        studentCache.getById(1, id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(createStudent(id));
+        });
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * Тест сброса соответствия логина при удалении студента.
+     */
+    @Test
+    public void invalidateDeletedDropsUsernameTest() {
+        // given
+        studentCache.getIdByUsername("first", username -> 1);
+        studentCache.getIdByUsername("second", username -> 2);
+
+        // when
+        studentCache.invalidateDeleted(1);
+
+        // then
+        assertThat(studentCache.getIdByUsername("first", username -> null)).isNull();
+        assertThat(studentCache.getIdByUsername("second", username -> null)).isEqualTo(2);
+    }
+
+    /**
+     * Ожидание защелки без проверяемого исключения.
+     *
+     * @param latch защелка
+     */
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Создание модели студента.
+     *
+     * @param id ИД студента
+     * @return студент
+     */
+    private static Student createStudent(Integer id) {
+        Student student = new Student("TestFirstName", "TestLastName", "test@mail.ru", "username", "test");
+        student.setId(id);
+        return student;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.preex;
+
+import com.example.preex.service.event.StudentChange;
+import com.example.preex.service.event.StudentChangeFeed;
+import com.example.preex.service.event.StudentChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тест ленты изменений студентов {@link StudentChangeFeed}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+class StudentChangeFeedTests {
+
+    /**
+     * Тест чтения изменений с позиции и оповещения обработчиков.
+     */
+    @Test
+    public void readAfterSequenceTest() {
+        // given
+        StudentChangeFeed feed = new StudentChangeFeed(8);
+        AtomicInteger notifications = new AtomicInteger();
+        feed.addListener(notifications::incrementAndGet);
+
+        // when
+        feed.append(StudentChangedEvent.Type.CREATED, List.of(1, 2));
+        feed.append(StudentChangedEvent.Type.UPDATED, List.of(1));
+        feed.append(StudentChangedEvent.Type.DELETED, List.of(2));
+
+        // then
+        assertThat(notifications).hasValue(3);
+        assertThat(feed.getLastSequence()).isEqualTo(3);
+        assertThat(feed.read(0, 10)).extracting(StudentChange::getType)
+                .containsExactly(StudentChangedEvent.Type.CREATED, StudentChangedEvent.Type.UPDATED,
+                        StudentChangedEvent.Type.DELETED);
+        assertThat(feed.read(1, 1)).extracting(StudentChange::getSequence).containsExactly(2L);
+        assertThat(feed.read(3, 10)).isEmpty();
+        assertThat(feed.read(4, 10)).isNull();
+    }
+
+    /**
+     * Тест потери позиции после перезаписи буфера.
+     */
+    @Test
+    public void overwrittenChangesAreLostTest() {
+        // given
+        StudentChangeFeed feed = new StudentChangeFeed(8);
+
+        // when
+        for (int i = 1; i <= 20; i++) {
+            feed.append(StudentChangedEvent.Type.UPDATED, List.of(i));
+        }
+
+        // then
+        assertThat(feed.read(11, 10)).isNull();
+        assertThat(feed.read(12, 10)).extracting(StudentChange::getSequence)
+                .containsExactly(13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L);
+    }
+
+    /**
+     * Тест ИД событий: номер из другого запуска приложения не принимается за позицию в ленте.
+     */
+    @Test
+    public void eventIdFromOtherStartIsRejectedTest() {
+        // given
+        StudentChangeFeed feed = new StudentChangeFeed(8);
+        StudentChangeFeed restarted = new StudentChangeFeed(8);
+
+        // when
+        String eventId = feed.eventId(3);
+
+        // then
+        assertThat(feed.sequenceOf(eventId)).isEqualTo(3);
+        assertThat(restarted.sequenceOf(eventId)).isEqualTo(-1);
+        assertThat(feed.sequenceOf("3")).isEqualTo(-1);
+        assertThat(feed.sequenceOf(eventId.substring(0, eventId.lastIndexOf('-') + 1) + "x")).isEqualTo(-1);
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.preex;
 
 import com.example.preex.model.Student;
+import com.example.preex.model.StudentBatchItemResult;
+import com.example.preex.model.StudentPage;
+import com.example.preex.model.StudentSearchPage;
+import com.example.preex.model.StudentViewPage;
 import com.example.preex.repository.StudentRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterAll;
@@ -10,16 +14,31 @@ import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.json.Json;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
 
+import static com.example.preex.controller.AsyncStudentController.PATH_ASYNC_STUDENT;
 import static com.example.preex.controller.StudentController.PATH_STUDENT;
+import static com.example.preex.controller.format.BinaryFormatConfiguration.APPLICATION_SMILE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -57,6 +76,18 @@ class StudentControllerTests {
     @Autowired
     private StudentRepository studentRepository;
 
+    /**
+     * Преобразователь тел в CBOR.
+     */
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    /**
+     * Преобразователь тел в Smile.
+     */
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
     /**
      * Пользователь - отправитель запросов.
      */
@@ -83,7 +114,9 @@ class StudentControllerTests {
      */
     @Test
     public void apiCreateApiStudentTest() throws Exception {
-        Student student = createStudent("username");
+        // given
+        Student student = new Student("username_TestFirstName", "username_TestLastName", "username_test@mail.ru",
+                "username", "test");
         String firstname = student.getFirstname();
         String lastname = student.getLastname();
 
@@ -103,6 +136,184 @@ class StudentControllerTests {
         studentRepository.deleteById(studentEntity.getId());
     }
 
+    /**
+     * Тест отказа в создании студента с ИД, в том числе с версией существующего студента.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void apiCreateStudentWithIdTest() throws Exception {
+        // given
+        Student student = new Student("withIdFirstName", "withIdLastName", "withId@mail.ru", "withIdUsername", "test");
+        student.setId(Integer.MAX_VALUE);
+        Student existing = createStudent("username");
+        existing.setFirstname("changedFirstName");
+
+        // when
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH_STUDENT)
+                        .with(user(principal))
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(student)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH_STUDENT)
+                        .with(user(principal))
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(existing)))
+                .andExpect(status().isBadRequest());
+
+        // then
+        assertThat(studentRepository.findStudentByUsername("withIdUsername")).isNull();
+        assertThat(studentRepository.findStudentByUsername("username").getFirstname())
+                .isEqualTo("username_TestFirstName");
+
+        studentRepository.deleteById(existing.getId());
+    }
+
+    /**
+     * Тест пакетного создания студентов контроллера {@link com.example.preex.controller.StudentController}.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void apiCreateStudentsBatchTest() throws Exception {
+        // given
+        Student first = new Student("batch1_TestFirstName", "batch1_TestLastName", "batch1_test@mail.ru", "batch1", "test");
+        Student duplicate = new Student("batch2_TestFirstName", "batch2_TestLastName", principal.getMail(), "batch2", "test");
+        Student duplicateUsername = new Student("batch3_TestFirstName", "batch3_TestLastName", "batch3_test@mail.ru",
+                "batch1", "test");
+
+        // when
+        String results = mockMvc.perform(MockMvcRequestBuilders.post(PATH_STUDENT + "/batch")
+                        .with(user(principal))
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(List.of(first, duplicate, duplicateUsername))))
+                .andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString();
+        // then
+        List<StudentBatchItemResult> items = List.of(objectMapper.readValue(results, StudentBatchItemResult[].class));
+        assertThat(items).extracting(StudentBatchItemResult::getStatus)
+                .containsExactly(StudentBatchItemResult.Status.CREATED, StudentBatchItemResult.Status.DUPLICATE_MAIL,
+                        StudentBatchItemResult.Status.DUPLICATE_USERNAME);
+        assertThat(studentRepository.findStudentByUsername("batch1").getId()).isEqualTo(items.get(0).getId());
+        assertThat(studentRepository.findStudentByUsername("batch2")).isNull();
+
+        studentRepository.deleteById(items.get(0).getId());
+    }
+
+    /**
+     * Тест обмена студентами в CBOR и Smile контроллера {@link com.example.preex.controller.StudentController}.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void apiBinaryFormatsTest() throws Exception {
+        // given
+        ObjectMapper smileMapper = smileConverter.getObjectMapper();
+        ObjectMapper cborMapper = cborConverter.getObjectMapper();
+        Student student = new Student("binary_TestFirstName", "binary_TestLastName", "binary_test@mail.ru", "binary",
+                "test");
+
+        // when
+        byte[] results = mockMvc.perform(MockMvcRequestBuilders.post(PATH_STUDENT + "/batch")
+                        .with(user(principal))
+                        .contentType(APPLICATION_SMILE)
+                        .accept(APPLICATION_SMILE)
+                        .content(smileMapper.writeValueAsBytes(List.of(student))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        // then
+        StudentBatchItemResult created = smileMapper.readValue(results, StudentBatchItemResult[].class)[0];
+        assertThat(created.getStatus()).isEqualTo(StudentBatchItemResult.Status.CREATED);
+
+        // when
+        byte[] found = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT + "/{id}", created.getId())
+                        .with(user(principal))
+                        .accept(APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        MvcResult streamResult = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT)
+                        .with(user(principal))
+                        .accept(APPLICATION_CBOR))
+                .andExpect(request().asyncStarted()).andReturn();
+        byte[] students = mockMvc.perform(asyncDispatch(streamResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        // then
+        assertThat(cborMapper.readValue(found, Student.class).getUsername()).isEqualTo("binary");
+        assertThat(cborMapper.readTree(students).findValuesAsText("username")).contains("binary");
+
+        studentRepository.deleteById(created.getId());
+    }
+
+    /**
+     * Тест ленты изменений студентов {@link com.example.preex.controller.StudentChangeController}.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void apiStudentChangesTest() throws Exception {
+        // given
+        MvcResult changes = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT + "/changes")
+                        .with(user(principal))
+                        .accept(TEXT_EVENT_STREAM_VALUE))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        // when
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH_STUDENT)
+                        .with(user(principal))
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new Student("changes_TestFirstName",
+                                "changes_TestLastName", "changes_test@mail.ru", "changes", "test"))))
+                .andExpect(status().isCreated());
+        Student student = studentRepository.findStudentByUsername("changes");
+        mockMvc.perform(MockMvcRequestBuilders.delete(PATH_STUDENT)
+                        .with(user(principal))
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(List.of(student.getId(), Integer.MAX_VALUE))))
+                .andExpect(status().isAccepted());
+        // then
+        String created = "event:created\ndata:{\"sequence\":";
+        String deleted = "event:deleted\ndata:";
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!changes.getResponse().getContentAsString().contains(deleted)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        String events = changes.getResponse().getContentAsString();
+        assertThat(events).contains(created, deleted, "\"ids\":[" + student.getId() + "]");
+        String createdId = events.substring(events.indexOf("id:") + 3, events.indexOf('\n', events.indexOf("id:")));
+
+        // when
+        MvcResult resumed = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT + "/changes")
+                        .with(user(principal))
+                        .header("Last-Event-ID", createdId))
+                .andExpect(request().asyncStarted()).andReturn();
+        // then
+        deadline = System.currentTimeMillis() + 5000;
+        while (!resumed.getResponse().getContentAsString().contains(deleted)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(resumed.getResponse().getContentAsString()).contains(deleted).doesNotContain(created);
+
+        // when
+        String previousStartId = "previous-" + createdId.substring(createdId.lastIndexOf('-') + 1);
+        MvcResult restarted = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT + "/changes")
+                        .with(user(principal))
+                        .header("Last-Event-ID", previousStartId))
+                .andExpect(request().asyncStarted()).andReturn();
+        // then
+        deadline = System.currentTimeMillis() + 5000;
+        while (!restarted.getResponse().getContentAsString().contains("event:reset")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(restarted.getResponse().getContentAsString()).contains("event:reset").doesNotContain(deleted);
+    }
+
     /**
      * Тест изменения студента контроллера {@link com.example.preex.controller.StudentController}.
      *
@@ -136,6 +347,99 @@ class StudentControllerTests {
         studentRepository.deleteById(studentEntity.getId());
     }
 
+    /**
+     * Тест условного получения и обновления студента по ETag контроллера
+     * {@link com.example.preex.controller.StudentController}.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void apiConditionalGetAndUpdateStudentTest() throws Exception {
+        // given
+        Student student = createStudent("etagUsername");
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT + "/{id}", student.getId())
+                        .with(user(principal)))
+                .andExpect(status().isOk()).andReturn().getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // when
+        String notModified = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT + "/{id}", student.getId())
+                        .with(user(principal))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified()).andReturn().getResponse()
+                .getContentAsString();
+        // then
+        assertThat(notModified).isEmpty();
+
+        // when
+        String updatedETag = mockMvc.perform(MockMvcRequestBuilders.put(PATH_STUDENT + "/{id}", student.getId())
+                        .with(user(principal))
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .content("{\"firstname\":\"etagFirstName\"}"))
+                .andExpect(status().isOk()).andReturn().getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        // then
+        assertThat(updatedETag).isNotEqualTo(eTag);
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH_STUDENT + "/{id}", student.getId())
+                        .with(user(principal))
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .content("{\"firstname\":\"lostUpdate\"}"))
+                .andExpect(status().isPreconditionFailed());
+        String body = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT + "/{id}", student.getId())
+                        .with(user(principal))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, updatedETag))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(objectMapper.readValue(body, Student.class).getFirstname()).isEqualTo("etagFirstName");
+
+        studentRepository.deleteById(student.getId());
+    }
+
+    /**
+     * Тест выборочного чтения полей студентов контроллера {@link com.example.preex.controller.StudentController}.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void apiGetStudentFieldsTest() throws Exception {
+        // given
+        Student student = createStudent("fieldsUsername");
+
+        // when
+        String single = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT + "/{id}", student.getId())
+                        .param("fields", "mail")
+                        .with(user(principal)))
+                .andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString();
+        String page = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT)
+                        .param("limit", "1")
+                        .param("after", String.valueOf(student.getId() - 1))
+                        .param("fields", "mail,version")
+                        .with(user(principal)))
+                .andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString();
+        // then
+        assertThat(objectMapper.readTree(single).fieldNames()).toIterable()
+                .containsExactlyInAnyOrder("id", "mail");
+        assertThat(objectMapper.readValue(page, StudentViewPage.class).getItems())
+                .singleElement()
+                .satisfies(view -> {
+                    assertThat(view.getId()).isEqualTo(student.getId());
+                    assertThat(view.getMail()).isEqualTo(student.getMail());
+                    assertThat(view.getVersion()).isEqualTo(0L);
+                    assertThat(view.getFirstname()).isNull();
+                });
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT + "/{id}", student.getId())
+                        .param("fields", "password")
+                        .with(user(principal)))
+                .andExpect(status().isBadRequest());
+
+        studentRepository.deleteById(student.getId());
+    }
+
     /**
      * Тест удаления студента контроллера {@link com.example.preex.controller.StudentController}.
      *
@@ -156,6 +460,32 @@ class StudentControllerTests {
         assertThat(studentDeletedString).isEqualTo("Student is deleted");
     }
 
+    /**
+     * Тест удаления списка студентов контроллера {@link com.example.preex.controller.StudentController}.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void apiDeleteStudentsTest() throws Exception {
+        // given
+        Student first = createStudent("username1");
+        Student second = createStudent("username2");
+        // Больше ИД, чем допустимо параметров в одном запросе PostgreSQL (32767)
+        List<Integer> ids = new ArrayList<>(List.of(first.getId(), second.getId()));
+        IntStream.range(0, 40_000).forEach(i -> ids.add(Integer.MAX_VALUE - i));
+
+        // when
+        String studentsDeletedString = mockMvc.perform(MockMvcRequestBuilders.delete(PATH_STUDENT)
+                        .with(user(principal))
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isAccepted()).andReturn().getResponse()
+                .getContentAsString();
+        // then
+        assertThat(studentsDeletedString).isEqualTo("Students are deleted: 2");
+        assertThat(studentRepository.findAllById(List.of(first.getId(), second.getId()))).isEmpty();
+    }
+
     /**
      * Тест ошибки поиска студента контроллера {@link com.example.preex.controller.StudentController}.
      *
@@ -261,6 +591,151 @@ class StudentControllerTests {
         studentRepository.deleteById(studentId);
     }
 
+    /**
+     * Тест получения студентов по списку ИД контроллера {@link com.example.preex.controller.StudentController}.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void apiGetStudentsByIdsTest() throws Exception {
+        // given
+        Student student = createStudent("username");
+
+        // when
+        String students = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT)
+                        .with(user(principal))
+                        .param("ids", student.getId() + "," + Integer.MAX_VALUE + "," + principal.getId())
+                        .param("limit", "1"))
+                .andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString();
+        // then
+        assertThat(List.of(objectMapper.readValue(students, Student[].class)))
+                .extracting(Student::getId).containsExactly(student.getId(), principal.getId());
+
+        studentRepository.deleteById(student.getId());
+    }
+
+    /**
+     * Тест поиска студента по префиксу фамилии с опечаткой.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void apiSearchStudentsTest() throws Exception {
+        // given
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH_STUDENT)
+                        .with(user(principal))
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .content("{\"firstname\":\"Search\",\"lastname\":\"Konstantinopolsky\","
+                                + "\"mail\":\"search_test@mail.ru\",\"username\":\"searchUsername\",\"password\":\"test\"}"))
+                .andExpect(status().isCreated());
+        Student student = studentRepository.findStudentByUsername("searchUsername");
+
+        // when
+        String page = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT + "/search")
+                        .with(user(principal))
+                        .param("q", "konstatinopol"))
+                .andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString();
+
+        // then
+        StudentSearchPage searchPage = objectMapper.readValue(page, StudentSearchPage.class);
+        assertThat(searchPage.getItems()).extracting(Student::getId).containsExactly(student.getId());
+        assertThat(searchPage.getNextOffset()).isNull();
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(PATH_STUDENT + "/" + student.getId()).with(user(principal)))
+                .andExpect(status().isAccepted());
+    }
+
+    /**
+     * Тест асинхронного получения студента и ошибки 404 через пул вызовов сервиса.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void apiAsyncGetStudentTest() throws Exception {
+        // given
+        Student student = createStudent("asyncUsername");
+
+        // when
+        MvcResult found = mockMvc.perform(MockMvcRequestBuilders.get(PATH_ASYNC_STUDENT + "/" + student.getId())
+                        .with(user(principal)))
+                .andExpect(request().asyncStarted()).andReturn();
+        MvcResult notFound = mockMvc.perform(MockMvcRequestBuilders.get(PATH_ASYNC_STUDENT + "/" + Integer.MAX_VALUE)
+                        .with(user(principal)))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        // then
+        String eTag = "\"" + student.getVersion() + "\"";
+        String body = mockMvc.perform(asyncDispatch(found))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(objectMapper.readValue(body, Student.class).getUsername()).isEqualTo("asyncUsername");
+        mockMvc.perform(asyncDispatch(notFound)).andExpect(status().isNotFound());
+
+        // when
+        MvcResult notModified = mockMvc.perform(MockMvcRequestBuilders.get(PATH_ASYNC_STUDENT + "/" + student.getId())
+                        .with(user(principal))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(request().asyncStarted()).andReturn();
+        MvcResult updated = mockMvc.perform(MockMvcRequestBuilders.put(PATH_ASYNC_STUDENT + "/" + student.getId())
+                        .with(user(principal))
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .content("{\"firstname\":\"asyncFirstName\"}"))
+                .andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(notModified)).andExpect(status().isNotModified());
+        mockMvc.perform(asyncDispatch(updated)).andExpect(status().isOk());
+        MvcResult lostUpdate = mockMvc.perform(MockMvcRequestBuilders.put(PATH_ASYNC_STUDENT + "/" + student.getId())
+                        .with(user(principal))
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .content("{\"firstname\":\"lostUpdate\"}"))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(lostUpdate)).andExpect(status().isPreconditionFailed());
+        assertThat(studentRepository.findStudentByUsername("asyncUsername").getFirstname()).isEqualTo("asyncFirstName");
+
+        studentRepository.deleteById(student.getId());
+    }
+
+    /**
+     * Тест постраничного и потокового получения студентов контроллера {@link com.example.preex.controller.StudentController}.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void apiGetStudentsPageTest() throws Exception {
+        // given
+        Student student = createStudent("username");
+
+        // when
+        StudentPage page = objectMapper.readValue(mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT)
+                        .with(user(principal))
+                        .param("after", String.valueOf(student.getId() - 1))
+                        .param("limit", "1"))
+                .andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString(), StudentPage.class);
+        // then
+        assertThat(page.getItems()).extracting(Student::getId).containsExactly(student.getId());
+        assertThat(page.getNextAfter()).isEqualTo(student.getId());
+
+        // when
+        MvcResult streamResult = mockMvc.perform(MockMvcRequestBuilders.get(PATH_STUDENT)
+                        .with(user(principal)))
+                .andExpect(request().asyncStarted()).andReturn();
+        String students = mockMvc.perform(asyncDispatch(streamResult))
+                .andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString();
+        // then
+        assertThat(objectMapper.readTree(students).findValuesAsText("username"))
+                .contains(principal.getUsername(), student.getUsername());
+
+        studentRepository.deleteById(student.getId());
+    }
+
     /**
      * Создание модели студента.
      *
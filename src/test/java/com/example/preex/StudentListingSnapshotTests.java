@@ -0,0 +1,159 @@
+package com.example.preex;
+
+import com.example.preex.controller.snapshot.StudentListingSnapshot;
+import com.example.preex.model.Student;
+import com.example.preex.model.StudentPage;
+import com.example.preex.service.StudentService;
+import com.example.preex.service.event.StudentChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Тест снимка списка студентов {@link StudentListingSnapshot}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+class StudentListingSnapshotTests {
+
+    /**
+     * Сериализатор.
+     */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    /**
+     * Студенты сервиса.
+     */
+    private final List<Student> students = new ArrayList<>(List.of(
+            createStudent(1, "first"), createStudent(2, "second"), createStudent(5, "third")));
+
+    /**
+     * Сервис, отдающий {@link #students}.
+     */
+    private final StudentService studentService = mock(StudentService.class);
+
+    /**
+     * Снимки, созданные тестом.
+     */
+    private final List<StudentListingSnapshot> snapshots = new ArrayList<>();
+
+    @AfterEach
+    public void afterEach() {
+        snapshots.forEach(StudentListingSnapshot::destroy);
+    }
+
+    /**
+     * Тест совпадения списка и страниц снимка с сериализацией студентов.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void listingAndPagesTest() throws Exception {
+        // given
+        StudentListingSnapshot snapshot = createSnapshot(Duration.ZERO);
+
+        // when
+        snapshot.rebuild();
+        StudentListingSnapshot.Snapshot current = snapshot.current();
+
+        // then
+        assertThat(current.getJson()).isEqualTo(objectMapper.writeValueAsBytes(students));
+        assertThat(gunzip(current.getGzip())).isEqualTo(current.getJson());
+        StudentPage firstPage = objectMapper.readValue(current.page(null, 2), StudentPage.class);
+        assertThat(firstPage.getItems()).isEqualTo(students.subList(0, 2));
+        assertThat(firstPage.getNextAfter()).isEqualTo(2);
+        StudentPage lastPage = objectMapper.readValue(current.page(3, 2), StudentPage.class);
+        assertThat(lastPage.getItems()).extracting(Student::getId).containsExactly(5);
+        assertThat(lastPage.getNextAfter()).isNull();
+        StudentPage emptyPage = objectMapper.readValue(current.page(5, 2), StudentPage.class);
+        assertThat(emptyPage.getItems()).isEmpty();
+    }
+
+    /**
+     * Тест отдачи устаревшего снимка только в пределах допустимого времени.
+     */
+    @Test
+    public void staleSnapshotTest() {
+        // given
+        StudentListingSnapshot strict = createSnapshot(Duration.ZERO);
+        StudentListingSnapshot lenient = createSnapshot(Duration.ofHours(1));
+        strict.rebuild();
+        lenient.rebuild();
+        students.add(createStudent(7, "fourth"));
+
+        // when
+        StudentChangedEvent event = new StudentChangedEvent(StudentChangedEvent.Type.CREATED, List.of(7));
+        strict.onStudentChanged(event);
+        lenient.onStudentChanged(event);
+
+        // then
+        assertThat(strict.current()).isNull();
+        assertThat(lenient.current()).isNotNull();
+
+        // when
+        strict.rebuild();
+
+        // then
+        assertThat(strict.current().page(5, 10)).asString().contains("fourth");
+    }
+
+    /**
+     * Создание снимка без фоновой пересборки.
+     *
+     * @param maxStaleness максимальное время отдачи устаревшего снимка
+     * @return снимок
+     */
+    private StudentListingSnapshot createSnapshot(Duration maxStaleness) {
+        doAnswer(invocation -> {
+            Consumer<Student> action = invocation.getArgument(0);
+            students.forEach(action);
+            return null;
+        }).when(studentService).forEachStudent(any());
+        StudentListingSnapshot snapshot = new StudentListingSnapshot(studentService, objectMapper, true,
+                maxStaleness, Duration.ofHours(1), DataSize.ofMegabytes(1), true, new SimpleMeterRegistry());
+        snapshots.add(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Распаковка gzip.
+     *
+     * @param gzip сжатые данные
+     * @return данные
+     */
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Создание студента.
+     *
+     * @param id        ИД
+     * @param firstname имя
+     * @return студент
+     */
+    private static Student createStudent(int id, String firstname) {
+        Student student = new Student(firstname, firstname + "_lastname", firstname + "@mail.ru", firstname, "test");
+        student.setId(id);
+        return student;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.preex;
+
+import com.example.preex.model.Student;
+import com.example.preex.service.search.StudentSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тест поискового индекса студентов {@link StudentSearchIndex}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+class StudentSearchIndexTests {
+
+    /**
+     * Поисковый индекс.
+     */
+    private final StudentSearchIndex index = new StudentSearchIndex(null, null, null);
+
+    @BeforeEach
+    public void beforeEach() {
+        index.put(createStudent(1, "Ivan", "Petrov", "ivan.petrov@mail.ru", "ipetrov"));
+        index.put(createStudent(2, "Petr", "Ivanov", "petr.ivanov@mail.ru", "pivanov"));
+        index.put(createStudent(3, "Maria", "Sidorova", "sidorova@yandex.ru", "msidorova"));
+    }
+
+    /**
+     * Тест поиска по префиксу, подстроке и с опечаткой.
+     */
+    @Test
+    public void prefixSubstringAndTypoTest() {
+        assertThat(index.search("sid", 0, 10).getIds()).containsExactly(3);
+        assertThat(index.search("dorov", 0, 10).getIds()).containsExactly(3);
+        assertThat(index.search("sidrova", 0, 10).getIds()).containsExactly(3);
+        assertThat(index.search("yandex.ru", 0, 10).getIds()).containsExactly(3);
+        assertThat(index.search("ivan mail", 0, 10).getIds()).containsExactly(1, 2);
+        assertThat(index.search("unknown", 0, 10).getTotal()).isZero();
+    }
+
+    /**
+     * Тест ранжирования: точное совпадение слова выше префикса и пагинация.
+     */
+    @Test
+    public void rankingAndPagingTest() {
+        // when
+        StudentSearchIndex.Result first = index.search("petr", 0, 1);
+        StudentSearchIndex.Result second = index.search("petr", 1, 1);
+
+        // then
+        assertThat(first.getTotal()).isEqualTo(2);
+        assertThat(first.getIds()).containsExactly(2);
+        assertThat(second.getIds()).containsExactly(1);
+    }
+
+    /**
+     * Тест обновления индекса при изменении и удалении студента.
+     */
+    @Test
+    public void mergeAndRemoveTest() {
+        // when
+        Student patch = new Student();
+        patch.setId(3);
+        patch.setLastname("Smirnova");
+        index.merge(patch);
+        index.remove(1);
+
+        // then
+        assertThat(index.search("sidorova", 0, 10).getIds()).containsExactly(3);
+        assertThat(index.search("smirnova", 0, 10).getIds()).containsExactly(3);
+        assertThat(index.search("sidorov", 0, 10).getIds()).containsExactly(3);
+        assertThat(index.search("ipetrov", 0, 10).getTotal()).isZero();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    /**
+     * Тест сохранения проиндексированного логина: частичное обновление логин не изменяет.
+     */
+    @Test
+    public void mergeKeepsUsernameTest() {
+        // when
+        Student patch = new Student();
+        patch.setId(3);
+        patch.setFirstname("Marina");
+        patch.setUsername("mkuznetsova");
+        index.merge(patch);
+
+        // then
+        assertThat(index.search("marina", 0, 10).getIds()).containsExactly(3);
+        assertThat(index.search("msidorova", 0, 10).getIds()).containsExactly(3);
+        assertThat(index.search("mkuznetsova", 0, 10).getTotal()).isZero();
+    }
+
+    /**
+     * Создание модели студента.
+     *
+     * @param id        ИД студента
+     * @param firstname имя
+     * @param lastname  фамилия
+     * @param mail      e-mail
+     * @param username  логин
+     * @return студент
+     */
+    private static Student createStudent(int id, String firstname, String lastname, String mail, String username) {
+        Student student = new Student(firstname, lastname, mail, username, "test");
+        student.setId(id);
+        return student;
+    }
+}
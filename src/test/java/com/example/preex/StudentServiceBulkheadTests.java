@@ -0,0 +1,151 @@
+package com.example.preex;
+
+import com.example.preex.service.bulkhead.StudentServiceBulkhead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Тест изолированного пула вызовов сервиса {@link StudentServiceBulkhead}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+class StudentServiceBulkheadTests {
+
+    /**
+     * Пул из одного потока с очередью на один вызов.
+     */
+    private final StudentServiceBulkhead bulkhead =
+            new StudentServiceBulkhead(1, 1, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+    /**
+     * Освобождение занятого потока пула.
+     */
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void afterEach() throws InterruptedException {
+        release.countDown();
+        bulkhead.destroy();
+    }
+
+    /**
+     * Тест немедленного отказа при заполненной очереди.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void rejectsWhenQueueIsFullTest() throws Exception {
+        // given
+        CompletableFuture<String> running = bulkhead.submit(null, this::awaitRelease);
+        CompletableFuture<String> queued = bulkhead.submit(null, () -> "queued");
+
+        // when
+        CompletableFuture<String> rejected = bulkhead.submit(null, () -> "rejected");
+
+        // then
+        assertThatThrownBy(rejected::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(StudentServiceBulkhead.BulkheadFullException.class);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    /**
+     * Тест завершения по сроку: вызов, не дождавшийся потока, не выполняется.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void expiredCallIsNotExecutedTest() throws Exception {
+        // given
+        AtomicBoolean executed = new AtomicBoolean();
+        CompletableFuture<String> running = bulkhead.submit(null, this::awaitRelease);
+
+        // when
+        CompletableFuture<String> expired = bulkhead.submit(Duration.ofMillis(50), () -> {
+            executed.set(true);
+            return "expired";
+        });
+
+        // then
+        assertThatThrownBy(() -> expired.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(StudentServiceBulkhead.DeadlineExceededException.class);
+        // Место в очереди освобождается по истечении срока, пока поток еще занят
+        CompletableFuture<String> next = bulkhead.submit(null, () -> "next");
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("next");
+        assertThat(executed).isFalse();
+    }
+
+    /**
+     * Тест ожидания начавшегося изменения после истечения срока.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void startedChangeIsAwaitedTest() throws Exception {
+        // when
+        CompletableFuture<String> change = bulkhead.submitChange(Duration.ofMillis(50), this::awaitRelease);
+        Thread.sleep(200);
+
+        // then
+        assertThat(change).isNotDone();
+        release.countDown();
+        assertThat(change.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+    }
+
+    /**
+     * Тест отказа в изменении, не начавшемся до истечения срока.
+     *
+     * @throws Exception ошибка
+     */
+    @Test
+    public void queuedChangeExpiresTest() throws Exception {
+        // given
+        AtomicBoolean executed = new AtomicBoolean();
+        CompletableFuture<String> running = bulkhead.submit(null, this::awaitRelease);
+
+        // when
+        CompletableFuture<String> expired = bulkhead.submitChange(Duration.ofMillis(50), () -> {
+            executed.set(true);
+            return "expired";
+        });
+
+        // then
+        assertThatThrownBy(() -> expired.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(StudentServiceBulkhead.DeadlineExceededException.class);
+        // Место в очереди освобождается по истечении срока, пока поток еще занят
+        CompletableFuture<String> next = bulkhead.submit(null, () -> "next");
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("next");
+        assertThat(executed).isFalse();
+    }
+
+    /**
+     * Ожидание освобождения потока.
+     *
+     * @return результат вызова
+     */
+    private String awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "running";
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.preex;
+
+import com.example.preex.model.Student;
+import com.example.preex.service.writebehind.StudentWriteBehindBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Тест буфера отложенной записи изменений студентов {@link StudentWriteBehindBuffer}.
+ *
+ * @author Mikhail Nikiforov
+ * @since 2026.10.18
+ */
+class StudentWriteBehindBufferTests {
+
+    /**
+     * Тест объединения изменений одного студента, чтения до записи и записи при остановке.
+     */
+    @Test
+    public void coalesceAndFlushOnStopTest() {
+        // given
+        StudentWriteBehindBuffer buffer = buffer(100);
+        List<List<Student>> batches = new ArrayList<>();
+        buffer.setWriter(batch -> {
+            batches.add(batch);
+            return 0;
+        });
+        buffer.start();
+
+        // when
+        buffer.merge(patch(1, "Ivan", null, "ivan@mail.ru"));
+        buffer.merge(patch(1, null, "Petrov", null));
+        buffer.merge(patch(1, "Petr", null, null));
+        buffer.merge(patch(2, null, null, "other@mail.ru"));
+        Student read = buffer.overlay(patch(1, "Old", "Old", "old@mail.ru"));
+        buffer.stop();
+
+        // then
+        assertThat(read).extracting(Student::getFirstname, Student::getLastname, Student::getMail)
+                .containsExactly("Petr", "Petrov", "ivan@mail.ru");
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(2);
+        assertThat(batches.get(0)).filteredOn(student -> student.getId() == 1)
+                .extracting(Student::getFirstname, Student::getLastname, Student::getMail)
+                .containsExactly(tuple("Petr", "Petrov", "ivan@mail.ru"));
+        assertThat(buffer.isPending(1)).isFalse();
+        assertThat(buffer.merge(patch(1, "Late", null, null))).isFalse();
+    }
+
+    /**
+     * Тест повторной записи после ошибки.
+     */
+    @Test
+    public void retryAfterFailureTest() {
+        // given
+        StudentWriteBehindBuffer buffer = buffer(100);
+        List<Student> written = new ArrayList<>();
+        boolean[] fail = {true};
+        buffer.setWriter(batch -> {
+            if (fail[0]) {
+                throw new IllegalStateException("Database is down");
+            }
+            written.addAll(batch);
+            return 0;
+        });
+        buffer.start();
+        buffer.merge(patch(1, "Ivan", null, null));
+        buffer.merge(patch(2, "Petr", null, null));
+
+        // when
+        assertThatThrownBy(() -> buffer.flush(1)).isInstanceOf(IllegalStateException.class);
+        boolean pendingAfterFailure = buffer.isPending(1);
+        fail[0] = false;
+        buffer.flush(1);
+
+        // then
+        assertThat(pendingAfterFailure).isTrue();
+        assertThat(written).extracting(Student::getId).containsExactly(1);
+        assertThat(buffer.isPending(1)).isFalse();
+        assertThat(buffer.isPending(2)).isTrue();
+        buffer.stop();
+        assertThat(written).extracting(Student::getId).containsExactly(1, 2);
+    }
+
+    /**
+     * Тест отказа в приеме изменений нового студента при переполнении буфера.
+     */
+    @Test
+    public void rejectWhenFullTest() {
+        // given
+        StudentWriteBehindBuffer buffer = buffer(2);
+        buffer.setWriter(batch -> 0);
+        buffer.start();
+
+        // when
+        boolean first = buffer.merge(patch(1, "Ivan", null, null));
+        boolean second = buffer.merge(patch(2, "Petr", null, null));
+        boolean coalesced = buffer.merge(patch(2, null, "Petrov", null));
+        boolean third = buffer.merge(patch(3, "Sidor", null, null));
+        buffer.stop();
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(coalesced).isTrue();
+        assertThat(third).isFalse();
+    }
+
+    /**
+     * Буфер с записью только по требованию.
+     *
+     * @param maxPending максимальное количество студентов с ожидающими изменениями
+     * @return буфер
+     */
+    private static StudentWriteBehindBuffer buffer(int maxPending) {
+        return new StudentWriteBehindBuffer(true, Duration.ofHours(1), 100, maxPending, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Изменения студента.
+     *
+     * @param id        ИД студента
+     * @param firstname имя
+     * @param lastname  фамилия
+     * @param mail      e-mail
+     * @return изменения
+     */
+    private static Student patch(Integer id, String firstname, String lastname, String mail) {
+        Student student = new Student();
+        student.setId(id);
+        if (firstname != null) {
+            student.setFirstname(firstname);
+        }
+        if (lastname != null) {
+            student.setLastname(lastname);
+        }
+        if (mail != null) {
+            student.setMail(mail);
+        }
+        return student;
+    }
+}